@@ -2,13 +2,15 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,45 +18,69 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(long bookerId, BookingDtoInput bookingDtoInput) {
+    public Mono<ResponseEntity<Object>> create(long bookerId, BookingDtoInput bookingDtoInput) {
         return post("", bookerId, bookingDtoInput);
     }
 
-    public ResponseEntity<Object> read(long userId, long id) {
+    public Mono<ResponseEntity<Object>> readIntake(long bookerId, String handle) {
+        return get("/intake/" + handle, bookerId);
+    }
+
+    public Mono<ResponseEntity<Object>> read(long userId, long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> readAllBookerBookings(long userId, String state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> readAllByIds(long userId, List<Long> ids) {
         Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+
+        return get("?ids={ids}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> readAllBookerBookings(long userId, String state, Integer from, Integer size,
+                                                              String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
+        ));
+        StringBuilder path = new StringBuilder("?state={state}&from={from}&size={size}");
+
+        if (fields != null) {
+            parameters.put("fields", fields);
+            path.append("&fields={fields}");
+        }
 
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return get(path.toString(), userId, parameters);
     }
 
-    public ResponseEntity<Object> readAllOwnerItemBookings(long ownerId, String state,
-                                                           Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> readAllOwnerItemBookings(long ownerId, String state,
+                                                           Integer from, Integer size, String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
+        ));
+        StringBuilder path = new StringBuilder("/owner?state={state}&from={from}&size={size}");
+
+        if (fields != null) {
+            parameters.put("fields", fields);
+            path.append("&fields={fields}");
+        }
 
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        return get(path.toString(), ownerId, parameters);
     }
 
-    public ResponseEntity<Object> updateApproval(long ownerId, long id, Boolean isApproved) {
+    public Mono<ResponseEntity<Object>> updateApproval(long ownerId, long id, Boolean isApproved) {
         Map<String, Object> parameters = Map.of(
                 "approved", isApproved
         );
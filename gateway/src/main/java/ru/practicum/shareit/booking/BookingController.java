@@ -1,14 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.util.List;
 
 @Validated
 @RestController
@@ -17,46 +21,67 @@ import javax.validation.constraints.Min;
 public class BookingController {
     private final BookingClient bookingClient;
 
+    @Value("${shareit-gateway.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                         @Valid @RequestBody BookingDtoInput bookingDtoInput) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                               @Valid @RequestBody BookingDtoInput bookingDtoInput) {
         return bookingClient.create(bookerId, bookingDtoInput);
     }
 
+    @GetMapping("/intake/{handle}")
+    public Mono<ResponseEntity<Object>> readIntake(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                                   @PathVariable String handle) {
+        return bookingClient.readIntake(bookerId, handle);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> read(@RequestHeader("X-Sharer-User-Id") long userId,
-                                       @PathVariable long id) {
+    public Mono<ResponseEntity<Object>> read(@RequestHeader("X-Sharer-User-Id") long userId,
+                                             @PathVariable long id) {
         return bookingClient.read(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> readAllByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return bookingClient.readAllByIds(userId, ids);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> readAllBookerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                        @RequestParam(defaultValue = "ALL") String state,
-                                                        @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                        @RequestParam(defaultValue = "10")
-                                                        @Min(1) @Max(200) Integer size) {
+    public Mono<ResponseEntity<Object>> readAllBookerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                              @RequestParam(defaultValue = "10")
+                                                              @Min(1) @Max(200) Integer size,
+                                                              @RequestParam(required = false) String fields) {
         BookingState.from(state)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state));
 
-        return bookingClient.readAllBookerBookings(userId, state, from, size);
+        return bookingClient.readAllBookerBookings(userId, state, from, size, fields);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> readAllOwnerItemBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                           @RequestParam(defaultValue = "ALL") String state,
-                                                           @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                                           @RequestParam(defaultValue = "10")
-                                                           @Min(1) @Max(200) Integer size) {
+    public Mono<ResponseEntity<Object>> readAllOwnerItemBookings(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                                 @RequestParam(defaultValue = "ALL") String state,
+                                                                 @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                                 @RequestParam(defaultValue = "10")
+                                                                 @Min(1) @Max(200) Integer size,
+                                                                 @RequestParam(required = false) String fields) {
         BookingState.from(state)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + state));
 
-        return bookingClient.readAllOwnerItemBookings(ownerId, state, from, size);
+        return bookingClient.readAllOwnerItemBookings(ownerId, state, from, size, fields);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateApproval(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                                 @PathVariable long id,
-                                                 @RequestParam("approved") Boolean isApproved) {
+    public Mono<ResponseEntity<Object>> updateApproval(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                       @PathVariable long id,
+                                                       @RequestParam("approved") Boolean isApproved) {
         return bookingClient.updateApproval(ownerId, id, isApproved);
     }
 }
\ No newline at end of file
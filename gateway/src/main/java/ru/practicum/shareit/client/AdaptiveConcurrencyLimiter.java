@@ -0,0 +1,184 @@
+package ru.practicum.shareit.client;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * AIMD concurrency limit with priority lanes. The limit grows by one after each fast call made
+ * while at least half of it was in use, and shrinks by the backoff ratio after an error or a call
+ * slower than the tolerated multiple of the best recent latency. Calls over the limit wait in
+ * their lane's queue; a freed slot goes to the highest lane first, and the LOW lane may only use
+ * part of the limit so that writes always find headroom.
+ */
+class AdaptiveConcurrencyLimiter {
+    enum Lane {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final double lowLaneShare;
+    private final int maxQueued;
+    private final long baselineWindowNanos;
+    private final Map<Lane, Queue<Waiter>> queues = new EnumMap<>(Lane.class);
+    private double limit;
+    private int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long nextBaselineNanos = Long.MAX_VALUE;
+    private long baselineWindowStart;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                               double latencyTolerance, double lowLaneShare, int maxQueued,
+                               long baselineWindowNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.lowLaneShare = lowLaneShare;
+        this.maxQueued = maxQueued;
+        this.baselineWindowNanos = baselineWindowNanos;
+
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Completes when a slot is granted. Every granted slot must be returned with release.
+     */
+    Mono<Void> acquire(Lane lane) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            boolean isAdmitted;
+
+            synchronized (this) {
+                isAdmitted = queues.get(lane).isEmpty() && hasRoom(lane);
+
+                if (isAdmitted) {
+                    inFlight++;
+                } else if (queues.get(lane).size() >= maxQueued) {
+                    sink.error(new LaneFullException());
+                    return;
+                } else {
+                    queues.get(lane).add(waiter);
+                }
+            }
+
+            if (isAdmitted) {
+                sink.success();
+                return;
+            }
+
+            sink.onCancel(() -> cancel(lane, waiter));
+        });
+    }
+
+    void release() {
+        Waiter next;
+
+        synchronized (this) {
+            inFlight--;
+            next = pollAdmissible();
+
+            if (next != null) {
+                inFlight++;
+                next.isAdmitted = true;
+            }
+        }
+
+        if (next != null) {
+            next.sink.success();
+        }
+    }
+
+    synchronized void onSample(long latencyNanos, boolean isDropped, long now) {
+        if (now - baselineWindowStart > baselineWindowNanos) {
+            baselineNanos = Math.min(nextBaselineNanos, latencyNanos);
+            nextBaselineNanos = Long.MAX_VALUE;
+            baselineWindowStart = now;
+        }
+
+        baselineNanos = Math.min(baselineNanos, latencyNanos);
+        nextBaselineNanos = Math.min(nextBaselineNanos, latencyNanos);
+
+        if (isDropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            return;
+        }
+
+        // Latency only says something about the limit while the limit is actually being used
+        if (inFlight * 2 < limit) {
+            return;
+        }
+
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueued(Lane lane) {
+        return queues.get(lane).size();
+    }
+
+    private boolean hasRoom(Lane lane) {
+        return inFlight < (lane == Lane.LOW ? Math.max(1, (int) (limit * lowLaneShare)) : (int) limit);
+    }
+
+    private Waiter pollAdmissible() {
+        for (Lane lane : Lane.values()) {
+            if (!queues.get(lane).isEmpty() && hasRoom(lane)) {
+                return queues.get(lane).poll();
+            }
+        }
+
+        return null;
+    }
+
+    private void cancel(Lane lane, Waiter waiter) {
+        boolean isReleaseNeeded;
+
+        synchronized (this) {
+            isReleaseNeeded = !queues.get(lane).remove(waiter) && waiter.isAdmitted;
+        }
+
+        // The slot was granted just as the waiter gave up, so pass it on
+        if (isReleaseNeeded) {
+            release();
+        }
+    }
+
+    static class LaneFullException extends RuntimeException {
+        LaneFullException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class Waiter {
+        private final MonoSink<Void> sink;
+        private boolean isAdmitted;
+
+        Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Count-based circuit breaker. It opens when the share of failures among the last window-size
+ * calls reaches the threshold, rejects calls while open, then lets a single trial call through;
+ * the trial's outcome either closes the breaker or opens it again.
+ */
+class CircuitBreaker {
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * What tryAcquire gave the caller. Only the holder of the trial permit may give the trial
+     * back, so a cancelled ordinary call does not let a second trial through.
+     */
+    enum Permit {
+        REJECTED,
+        CALL,
+        TRIAL
+    }
+
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failureCount;
+    private long openedAt;
+    private boolean isTrialInFlight;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationNanos) {
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+    }
+
+    synchronized Permit tryAcquire(long now) {
+        if (state == State.OPEN && now - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (isTrialInFlight) {
+                return Permit.REJECTED;
+            }
+
+            isTrialInFlight = true;
+            return Permit.TRIAL;
+        }
+
+        return state == State.CLOSED ? Permit.CALL : Permit.REJECTED;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+
+        record(false);
+    }
+
+    synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+
+        record(true);
+
+        if (calls >= minimumCalls && failureCount >= failureRateThreshold * calls) {
+            open(now);
+        }
+    }
+
+    /**
+     * Called when an admitted call ends without an outcome, e.g. when the caller cancels it or the
+     * bulkhead turns it away. Frees the trial slot only if this call held it.
+     */
+    synchronized void onIgnored(Permit permit) {
+        if (permit == Permit.TRIAL && state == State.HALF_OPEN) {
+            isTrialInFlight = false;
+        }
+    }
+
+    synchronized long retryAfterNanos(long now) {
+        return state == State.OPEN ? Math.max(0, openDurationNanos - (now - openedAt)) : 0;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean isFailure) {
+        if (calls == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+
+        failures[next] = isFailure;
+        failureCount += isFailure ? 1 : 0;
+        next = (next + 1) % failures.length;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        isTrialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failureCount = 0;
+        isTrialInFlight = false;
+    }
+}
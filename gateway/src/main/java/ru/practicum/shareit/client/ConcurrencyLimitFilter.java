@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter.Lane;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admits upstream calls through an adaptive concurrency limit instead of a fixed pool size.
+ * Writes go in the HIGH lane, bulk list reads in the LOW lane and everything else in NORMAL,
+ * so under overload list reads queue and are shed first while writes keep their latency.
+ */
+@Component
+public class ConcurrencyLimitFilter implements ExchangeFilterFunction {
+    private static final Set<String> BULK_READS = Set.of(
+            "/bookings",
+            "/bookings/owner",
+            "/items",
+            "/items/search",
+            "/requests",
+            "/requests/all",
+            "/users"
+    );
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration maxWait;
+    private final Map<Lane, Counter> rejected = new EnumMap<>(Lane.class);
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${shareit-gateway.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${shareit-gateway.concurrency.min-limit:4}") int minLimit,
+                                  @Value("${shareit-gateway.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${shareit-gateway.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${shareit-gateway.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                  @Value("${shareit-gateway.concurrency.low-lane-share:0.75}") double lowLaneShare,
+                                  @Value("${shareit-gateway.concurrency.max-queued:1000}") int maxQueued,
+                                  @Value("${shareit-gateway.concurrency.max-wait:2s}") Duration maxWait,
+                                  @Value("${shareit-gateway.concurrency.baseline-window:30s}") Duration baselineWindow) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio,
+                latencyTolerance, lowLaneShare, maxQueued, baselineWindow.toNanos());
+        this.maxWait = maxWait;
+
+        Gauge.builder("shareit.gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent upstream calls")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream calls admitted and not yet finished")
+                .register(meterRegistry);
+
+        for (Lane lane : Lane.values()) {
+            String laneName = lane.name().toLowerCase();
+
+            Gauge.builder("shareit.gateway.concurrency.queued", limiter, current -> current.getQueued(lane))
+                    .description("Upstream calls waiting for a slot")
+                    .tag("lane", laneName)
+                    .register(meterRegistry);
+            rejected.put(lane, Counter.builder("shareit.gateway.concurrency.rejected")
+                    .description("Upstream calls shed because no slot freed up in time")
+                    .tag("lane", laneName)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Lane lane = findLane(request);
+
+        return limiter.acquire(lane)
+                .timeout(maxWait)
+                .onErrorMap(e -> {
+                    rejected.get(lane).increment();
+                    return new UpstreamUnavailableException("Server is overloaded, retry later", 1);
+                })
+                .then(Mono.defer(() -> {
+                    long start = System.nanoTime();
+
+                    return next.exchange(request)
+                            .doOnNext(response -> limiter.onSample(System.nanoTime() - start,
+                                    response.statusCode().is5xxServerError(), System.nanoTime()))
+                            .doOnError(ConcurrencyLimitFilter::isDrop,
+                                    e -> limiter.onSample(System.nanoTime() - start, true, System.nanoTime()))
+                            .doFinally(signal -> limiter.release());
+                }));
+    }
+
+    /**
+     * A bulkhead or open breaker below rejects a call without reaching the server, so it says
+     * nothing about server capacity and must not shrink the limit shared by every lane.
+     * Calls cancelled by a winning hedge end without an error and are not sampled either.
+     */
+    private static boolean isDrop(Throwable e) {
+        return !(e instanceof UpstreamUnavailableException);
+    }
+
+    private static Lane findLane(ClientRequest request) {
+        if (request.method() != HttpMethod.GET) {
+            return Lane.HIGH;
+        }
+
+        return BULK_READS.contains(request.url().getPath()) ? Lane.LOW : Lane.NORMAL;
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedged GETs. When a GET has not been answered within the recent latency percentile, a second
+ * identical call goes out and whichever answers first is used; the other one is cancelled.
+ * Every GET earns budget-ratio of a hedge, capped at max-burst, so hedges can never add more than
+ * that share of extra load. A failed hedge is ignored and the primary call decides the outcome.
+ */
+@Component
+public class HedgingFilter implements ExchangeFilterFunction {
+    private static final long TOKEN = 1_000;
+
+    private final LatencyWindow latencies;
+    private final long minDelayNanos;
+    private final long tokensPerRequest;
+    private final long maxTokens;
+    private final AtomicLong tokens = new AtomicLong();
+    private final Counter sent;
+    private final Counter won;
+    private final Counter denied;
+
+    public HedgingFilter(MeterRegistry meterRegistry,
+                         @Value("${shareit-gateway.hedging.percentile:0.95}") double percentile,
+                         @Value("${shareit-gateway.hedging.window-size:1000}") int windowSize,
+                         @Value("${shareit-gateway.hedging.min-delay:20ms}") Duration minDelay,
+                         @Value("${shareit-gateway.hedging.budget-ratio:0.05}") double budgetRatio,
+                         @Value("${shareit-gateway.hedging.max-burst:10}") int maxBurst) {
+        this.latencies = new LatencyWindow(windowSize, percentile, 100);
+        this.minDelayNanos = minDelay.toNanos();
+        this.tokensPerRequest = Math.round(budgetRatio * TOKEN);
+        this.maxTokens = maxBurst * TOKEN;
+        this.sent = Counter.builder("shareit.gateway.hedging.hedges")
+                .description("Hedged GET calls")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.won = Counter.builder("shareit.gateway.hedging.hedges")
+                .description("Hedged GET calls")
+                .tag("result", "won")
+                .register(meterRegistry);
+        this.denied = Counter.builder("shareit.gateway.hedging.hedges")
+                .description("Hedged GET calls")
+                .tag("result", "over-budget")
+                .register(meterRegistry);
+
+        Gauge.builder("shareit.gateway.hedging.delay", this, filter -> filter.findDelayNanos() / 1e6)
+                .description("Time a GET waits before it is hedged")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        tokens.accumulateAndGet(tokensPerRequest, (current, added) -> Math.min(maxTokens, current + added));
+
+        Mono<ClientResponse> primary = timed(next.exchange(request));
+        Mono<ClientResponse> hedge = Mono.delay(Duration.ofNanos(findDelayNanos()))
+                .filter(tick -> tryTakeToken())
+                .flatMap(tick -> {
+                    sent.increment();
+                    return timed(next.exchange(request))
+                            .doOnNext(response -> won.increment())
+                            .onErrorResume(e -> Mono.never());
+                })
+                .switchIfEmpty(Mono.never());
+
+        return Mono.firstWithSignal(primary, hedge);
+    }
+
+    private Mono<ClientResponse> timed(Mono<ClientResponse> exchange) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return exchange.doOnNext(response -> latencies.record(System.nanoTime() - start));
+        });
+    }
+
+    private boolean tryTakeToken() {
+        long current;
+
+        do {
+            current = tokens.get();
+
+            if (current < TOKEN) {
+                denied.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+
+        return true;
+    }
+
+    private long findDelayNanos() {
+        long percentileNanos = latencies.getPercentileNanos();
+
+        return percentileNanos < 0 ? TimeUnit.SECONDS.toNanos(1) : Math.max(minDelayNanos, percentileNanos);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+
+/**
+ * The last N upstream latencies in a ring buffer. The percentile is recomputed every
+ * refresh-interval samples rather than on every read, so reading it costs nothing.
+ */
+class LatencyWindow {
+    private final long[] samples;
+    private final double percentile;
+    private final int refreshInterval;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile, int refreshInterval) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.refreshInterval = refreshInterval;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+
+        if (++sinceRefresh >= refreshInterval) {
+            sinceRefresh = 0;
+
+            long[] sorted = Arrays.copyOf(samples, count);
+
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) Math.min(count - 1, Math.floor(percentile * count))];
+        }
+    }
+
+    /**
+     * Returns -1 until the first refresh-interval samples have been recorded.
+     */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Spreads upstream calls over the nodes in shareit-server.urls. Clients keep addressing
+ * shareit-server.url; this filter, the last one before the connector, swaps in a node picked by
+ * power of two choices: the one with fewer calls in flight out of two random available nodes.
+ * A node is ejected for a while after consecutive failures and taken out while its
+ * /actuator/health probe fails. If no node is available, all of them are tried. Each node keeps
+ * its own warm connections in the shared pool.
+ */
+@Slf4j
+@Component
+public class LoadBalancingFilter implements ExchangeFilterFunction {
+    private final List<ServerInstance> instances;
+    private final int maxFailures;
+    private final long ejectionNanos;
+    private final Duration probeInterval;
+    private final Duration probeTimeout;
+    private final WebClient probeClient;
+    private Disposable probes;
+
+    public LoadBalancingFilter(MeterRegistry meterRegistry,
+                               ClientHttpConnector upstreamClientHttpConnector,
+                               @Value("${shareit-server.urls:${shareit-server.url}}") List<String> urls,
+                               @Value("${shareit-server.balancer.max-failures:5}") int maxFailures,
+                               @Value("${shareit-server.balancer.ejection-time:30s}") Duration ejectionTime,
+                               @Value("${shareit-server.balancer.probe-interval:5s}") Duration probeInterval,
+                               @Value("${shareit-server.balancer.probe-timeout:2s}") Duration probeTimeout) {
+        this.instances = urls.stream()
+                .map(String::trim)
+                .map(URI::create)
+                .map(ServerInstance::new)
+                .collect(Collectors.toList());
+        this.maxFailures = maxFailures;
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.probeInterval = probeInterval;
+        this.probeTimeout = probeTimeout;
+        // Built without the Boot builder, so probes skip every upstream filter including this one
+        this.probeClient = WebClient.builder()
+                .clientConnector(upstreamClientHttpConnector)
+                .build();
+
+        for (ServerInstance instance : instances) {
+            String uri = instance.getUri().toString();
+
+            Gauge.builder("shareit.gateway.balancer.outstanding", instance, node -> node.getOutstanding().get())
+                    .description("Upstream calls in flight to the node")
+                    .tag("instance", uri)
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.balancer.available", instance,
+                            node -> node.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("Whether the node receives traffic")
+                    .tag("instance", uri)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void startProbes() {
+        probes = Flux.interval(probeInterval)
+                .flatMap(tick -> Flux.fromIterable(instances))
+                .flatMap(this::probe)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopProbes() {
+        if (probes != null) {
+            probes.dispose();
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerInstance instance = choose();
+            URI url = UriComponentsBuilder.fromUri(request.url())
+                    .scheme(instance.getUri().getScheme())
+                    .host(instance.getUri().getHost())
+                    .port(instance.getUri().getPort())
+                    .build(true)
+                    .toUri();
+
+            instance.getOutstanding().incrementAndGet();
+
+            return next.exchange(ClientRequest.from(request).url(url).build())
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            instance.onFailure(System.nanoTime(), maxFailures, ejectionNanos);
+                        } else {
+                            instance.onSuccess();
+                        }
+                    })
+                    .doOnError(e -> instance.onFailure(System.nanoTime(), maxFailures, ejectionNanos))
+                    .doFinally(signal -> instance.getOutstanding().decrementAndGet());
+        });
+    }
+
+    private ServerInstance choose() {
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+
+        long now = System.nanoTime();
+        List<ServerInstance> candidates = instances.stream()
+                .filter(instance -> instance.isAvailable(now))
+                .collect(Collectors.toList());
+
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        ServerInstance a = candidates.get(first);
+        ServerInstance b = candidates.get(second);
+
+        return a.getOutstanding().get() <= b.getOutstanding().get() ? a : b;
+    }
+
+    private Mono<Void> probe(ServerInstance instance) {
+        return probeClient.get()
+                .uri(instance.getUri().resolve("/actuator/health"))
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful()))
+                .timeout(probeTimeout)
+                .onErrorReturn(false)
+                .doOnNext(isHealthy -> {
+                    if (!isHealthy) {
+                        log.warn("Server node {} failed its health probe", instance.getUri());
+                    }
+
+                    instance.setProbeHealthy(isHealthy);
+                })
+                .then();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collapses concurrent identical GETs into one upstream call. The first request for a key goes
+ * to the server, requests for the same key that arrive while it is in flight wait for its
+ * response and get their own copy of it. Nothing is kept after the call completes, so no
+ * response is ever older than the request that receives it. A caller that gives up also drops
+ * the entry, so later requests start a fresh call rather than join one nobody may wait for.
+ */
+@Component
+public class RequestCoalescingFilter implements ExchangeFilterFunction {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Map<String, Mono<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("GET requests sent upstream or joined to an in-flight call")
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("GET requests sent upstream or joined to an in-flight call")
+                .tag("result", "follower")
+                .register(meterRegistry);
+
+        Gauge.builder("shareit.gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .description("Share of GET requests served by another request's upstream call")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct GET requests currently waiting for the server")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+
+        String key = request.url() + "#" + request.headers().getFirst(USER_HEADER);
+        AtomicReference<Mono<SharedResponse>> self = new AtomicReference<>();
+        Mono<SharedResponse> call = next.exchange(request)
+                .flatMap(response -> response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(new byte[0])
+                        .map(body -> new SharedResponse(response, body)))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+
+        self.set(call);
+
+        Mono<SharedResponse> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            followers.increment();
+            return join(key, existing);
+        }
+
+        leaders.increment();
+        return join(key, call);
+    }
+
+    private Mono<ClientResponse> join(String key, Mono<SharedResponse> call) {
+        return call.map(SharedResponse::copy)
+                .doOnCancel(() -> inFlight.remove(key, call));
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private static class SharedResponse {
+        private final ClientResponse response;
+        private final byte[] body;
+
+        SharedResponse(ClientResponse response, byte[] body) {
+            this.response = response;
+            this.body = body;
+        }
+
+        ClientResponse copy() {
+            return response.mutate()
+                    .body(Flux.<DataBuffer>just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+}
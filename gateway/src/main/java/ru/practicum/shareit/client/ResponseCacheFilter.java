@@ -0,0 +1,205 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Gateway-side HTTP cache for idempotent reads. Every hit is still revalidated with
+ * If-None-Match, so the server stays the source of truth, but an unchanged resource comes back
+ * as a bodiless 304. Entries live in a concurrent map bounded by the total size of cached bodies;
+ * reads only stamp the entry, and the put that overflows the budget evicts the least recently
+ * used entries down to nine tenths of it, so a full cache sorts its entries once per tenth of churn.
+ */
+@Component
+public class ResponseCacheFilter implements ExchangeFilterFunction {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final List<String> CACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG);
+
+    private final List<CacheRule> rules;
+    private final long maxBytes;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong accessClock = new AtomicLong();
+    private final AtomicBoolean isEvicting = new AtomicBoolean();
+
+    public ResponseCacheFilter(@Value("${shareit-gateway.cache.max-size:64MB}") DataSize maxSize) {
+        PathPatternParser parser = new PathPatternParser();
+
+        this.rules = List.of(
+                new CacheRule(parser.parse("/items/search"), false),
+                new CacheRule(parser.parse("/items/{id:\\d+}"), true),
+                new CacheRule(parser.parse("/requests/{id:\\d+}"), true),
+                new CacheRule(parser.parse("/users/{id:\\d+}"), false)
+        );
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String key = findKey(request);
+
+        if (key == null) {
+            return next.exchange(request);
+        }
+
+        CachedResponse cached = get(key);
+        ClientRequest revalidation = cached == null ? request : ClientRequest.from(request)
+                .headers(headers -> headers.setIfNoneMatch(cached.etag))
+                .build();
+
+        return next.exchange(revalidation)
+                .map(response -> {
+                    if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                        return response.mutate()
+                                .statusCode(HttpStatus.OK)
+                                .headers(headers -> headers.putAll(cached.headers))
+                                .body(Flux.<DataBuffer>just(DefaultDataBufferFactory.sharedInstance.wrap(cached.body)))
+                                .build();
+                    }
+
+                    if (response.statusCode() != HttpStatus.OK || response.headers().header(HttpHeaders.ETAG).isEmpty()) {
+                        return response;
+                    }
+
+                    return response.mutate()
+                            .body(body -> DataBufferUtils.join(body)
+                                    .<DataBuffer>map(buffer -> DefaultDataBufferFactory.sharedInstance
+                                            .wrap(store(key, response.headers().asHttpHeaders(), buffer)))
+                                    .flux())
+                            .build();
+                });
+    }
+
+    private String findKey(ClientRequest request) {
+        if (request.method() != HttpMethod.GET) {
+            return null;
+        }
+
+        PathContainer path = PathContainer.parsePath(request.url().getRawPath());
+
+        for (CacheRule rule : rules) {
+            if (rule.pattern.matches(path)) {
+                String userId = rule.isUserSpecific ? request.headers().getFirst(USER_HEADER) : null;
+
+                return userId != null ? request.url() + "#" + userId : request.url().toString();
+            }
+        }
+
+        return null;
+    }
+
+    private byte[] store(String key, HttpHeaders responseHeaders, DataBuffer buffer) {
+        byte[] body = new byte[buffer.readableByteCount()];
+
+        buffer.read(body);
+        DataBufferUtils.release(buffer);
+
+        HttpHeaders headers = new HttpHeaders();
+
+        for (String name : CACHED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+
+        if (body.length <= maxBytes) {
+            put(key, new CachedResponse(responseHeaders.getETag(), headers, body));
+        }
+
+        return body;
+    }
+
+    private CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+
+        if (cached != null) {
+            cached.lastAccess = accessClock.incrementAndGet();
+        }
+
+        return cached;
+    }
+
+    private void put(String key, CachedResponse response) {
+        response.lastAccess = accessClock.incrementAndGet();
+
+        CachedResponse previous = entries.put(key, response);
+
+        cachedBytes.addAndGet(previous == null ? response.body.length : response.body.length - previous.body.length);
+        evictIfFull();
+    }
+
+    private void evictIfFull() {
+        if (cachedBytes.get() <= maxBytes || !isEvicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long targetBytes = maxBytes - maxBytes / 10;
+            List<Map.Entry<String, CachedResponse>> eldestFirst = entries.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .collect(Collectors.toList());
+
+            for (Map.Entry<String, CachedResponse> entry : eldestFirst) {
+                if (cachedBytes.get() <= targetBytes) {
+                    break;
+                }
+
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    cachedBytes.addAndGet(-entry.getValue().body.length);
+                }
+            }
+        } finally {
+            isEvicting.set(false);
+        }
+    }
+
+    private static class CacheRule {
+        private final PathPattern pattern;
+        private final boolean isUserSpecific;
+
+        CacheRule(PathPattern pattern, boolean isUserSpecific) {
+            this.pattern = pattern;
+            this.isUserSpecific = isUserSpecific;
+        }
+    }
+
+    private static class CachedResponse {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private volatile long lastAccess;
+
+        CachedResponse(String etag, HttpHeaders headers, byte[] body) {
+            this.etag = etag;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
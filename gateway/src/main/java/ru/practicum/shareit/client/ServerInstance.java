@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One server node as seen by the load balancer: calls in flight, consecutive failures, and
+ * whether the node is ejected by failures or marked down by the health probe.
+ */
+class ServerInstance {
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private int consecutiveFailures;
+    private long ejectedUntil;
+    private boolean isEjected;
+    private volatile boolean isProbeHealthy = true;
+
+    ServerInstance(URI uri) {
+        this.uri = uri;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    AtomicInteger getOutstanding() {
+        return outstanding;
+    }
+
+    synchronized boolean isAvailable(long now) {
+        if (isEjected && now - ejectedUntil >= 0) {
+            isEjected = false;
+            consecutiveFailures = 0;
+        }
+
+        return !isEjected && isProbeHealthy;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure(long now, int maxFailures, long ejectionNanos) {
+        if (++consecutiveFailures >= maxFailures && !isEjected) {
+            isEjected = true;
+            ejectedUntil = now + ejectionNanos;
+        }
+    }
+
+    void setProbeHealthy(boolean isProbeHealthy) {
+        this.isProbeHealthy = isProbeHealthy;
+    }
+}
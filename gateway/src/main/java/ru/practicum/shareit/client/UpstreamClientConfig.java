@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * One connection pool shared by every BaseClient subclass. Boot's WebClient.Builder picks up the
+ * ClientHttpConnector bean, so all clients draw from the same pool. Pool gauges are published
+ * to Micrometer as reactor.netty.connection.provider.* and are visible on /actuator/metrics.
+ * Upstream responses are requested gzipped and inflated on arrival, so caching and relaying
+ * see plain bytes; the gateway compresses again for its own clients.
+ */
+@Configuration
+public class UpstreamClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${shareit-server.pool.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.pool.max-pending-acquires:5000}") int maxPendingAcquires,
+            @Value("${shareit-server.pool.acquire-timeout:5s}") Duration acquireTimeout,
+            @Value("${shareit-server.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${shareit-server.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${shareit-server.pool.eviction-interval:30s}") Duration evictionInterval) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictionInterval)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector upstreamClientHttpConnector(
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${shareit-server.timeout.connect:2s}") Duration connectTimeout,
+            @Value("${shareit-server.timeout.read:30s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(true)
+                .responseTimeout(readTimeout);
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /**
+     * Requests for users known to be missing are answered before anything else. Coalescing comes
+     * next, so concurrent identical reads share a single cache revalidation and take a single
+     * concurrency slot and bulkhead permit. Hedges are made below it, so they pass
+     * the concurrency limit and circuit breakers like any other call. Load balancing comes last,
+     * so cache and coalescing keys do not depend on the node that served them.
+     */
+    @Bean
+    public WebClientCustomizer upstreamFiltersCustomizer(UserExistenceFilter userExistenceFilter,
+                                                         RequestCoalescingFilter requestCoalescingFilter,
+                                                         HedgingFilter hedgingFilter,
+                                                         ConcurrencyLimitFilter concurrencyLimitFilter,
+                                                         UpstreamGuardFilter upstreamGuardFilter,
+                                                         ResponseCacheFilter responseCacheFilter,
+                                                         LoadBalancingFilter loadBalancingFilter) {
+        return builder -> builder
+                .filter(userExistenceFilter)
+                .filter(requestCoalescingFilter)
+                .filter(hedgingFilter)
+                .filter(concurrencyLimitFilter)
+                .filter(upstreamGuardFilter)
+                .filter(responseCacheFilter)
+                .filter(loadBalancingFilter);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Isolates the server's endpoint families from each other. Every group (bookings, items,
+ * requests, users) has its own bulkhead, a cap on concurrent upstream calls, and its own circuit
+ * breaker, which opens on errors and 5xx responses. A call that finds either one closed fails
+ * at once with 503 instead of queueing behind a slow endpoint.
+ */
+@Component
+public class UpstreamGuardFilter implements ExchangeFilterFunction {
+    private static final List<String> GROUPS = List.of("bookings", "items", "requests", "users");
+
+    private final Map<String, Guard> guards;
+
+    public UpstreamGuardFilter(MeterRegistry meterRegistry,
+                               @Value("${shareit-gateway.guard.max-concurrent-calls:100}") int maxConcurrentCalls,
+                               @Value("${shareit-gateway.guard.window-size:20}") int windowSize,
+                               @Value("${shareit-gateway.guard.minimum-calls:10}") int minimumCalls,
+                               @Value("${shareit-gateway.guard.failure-rate-threshold:0.5}") double failureRateThreshold,
+                               @Value("${shareit-gateway.guard.open-duration:10s}") Duration openDuration) {
+        this.guards = GROUPS.stream()
+                .collect(Collectors.toMap(Function.identity(), group -> new Guard(group, meterRegistry,
+                        maxConcurrentCalls, new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                        openDuration.toNanos()))));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Guard guard = guards.get(findGroup(request));
+
+        if (guard == null) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+
+            CircuitBreaker.Permit permit = guard.circuitBreaker.tryAcquire(now);
+
+            if (permit == CircuitBreaker.Permit.REJECTED) {
+                guard.rejectedByCircuitBreaker.increment();
+                return Mono.error(new UpstreamUnavailableException("Service " + guard.group
+                        + " is temporarily unavailable", toSeconds(guard.circuitBreaker.retryAfterNanos(now))));
+            }
+
+            if (guard.activeCalls.incrementAndGet() > guard.maxConcurrentCalls) {
+                guard.activeCalls.decrementAndGet();
+                guard.circuitBreaker.onIgnored(permit);
+                guard.rejectedByBulkhead.increment();
+                return Mono.error(new UpstreamUnavailableException("Service " + guard.group
+                        + " is overloaded", 1));
+            }
+
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            guard.circuitBreaker.onFailure(System.nanoTime());
+                        } else {
+                            guard.circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnError(e -> guard.circuitBreaker.onFailure(System.nanoTime()))
+                    .doOnCancel(() -> guard.circuitBreaker.onIgnored(permit))
+                    .doFinally(signal -> guard.activeCalls.decrementAndGet());
+        });
+    }
+
+    private static String findGroup(ClientRequest request) {
+        String path = request.url().getPath();
+        int end = path.indexOf('/', 1);
+
+        return end < 0 ? path.substring(1) : path.substring(1, end);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static class Guard {
+        private final String group;
+        private final int maxConcurrentCalls;
+        private final CircuitBreaker circuitBreaker;
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        private final Counter rejectedByCircuitBreaker;
+        private final Counter rejectedByBulkhead;
+
+        Guard(String group, MeterRegistry meterRegistry, int maxConcurrentCalls, CircuitBreaker circuitBreaker) {
+            this.group = group;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.circuitBreaker = circuitBreaker;
+            this.rejectedByCircuitBreaker = Counter.builder("shareit.gateway.guard.rejected")
+                    .description("Upstream calls refused without reaching the server")
+                    .tags("group", group, "reason", "circuit-breaker")
+                    .register(meterRegistry);
+            this.rejectedByBulkhead = Counter.builder("shareit.gateway.guard.rejected")
+                    .description("Upstream calls refused without reaching the server")
+                    .tags("group", group, "reason", "bulkhead")
+                    .register(meterRegistry);
+
+            Gauge.builder("shareit.gateway.guard.active-calls", activeCalls, AtomicInteger::get)
+                    .description("Upstream calls in flight")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.guard.circuit-state", circuitBreaker,
+                            breaker -> breaker.getState().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Remembers which user ids the server has rejected. The server names a missing user in
+ * X-Unknown-User-Id, and later requests on behalf of that user get the same 404 from here without
+ * a server round trip. A deleted user becomes unknown at once, and any 2xx for a user or the
+ * creation of a user drops what this instance knew.
+ * <p>
+ * Other gateway instances do not hear of those changes, so an entry lives only for missing-ttl,
+ * a few seconds by default: long enough to absorb a client retrying with a bad id, short enough
+ * that a user created through another instance is not refused for long. Only missing users are
+ * kept, since a known user is passed through anyway; a success costs a lookup, not a write.
+ */
+@Component
+public class UserExistenceFilter implements ExchangeFilterFunction {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String UNKNOWN_USER_HEADER = "X-Unknown-User-Id";
+
+    private final PathPattern userPattern;
+    private final PathPattern itemPattern;
+    private final long missingTtlNanos;
+    private final int maxSize;
+    // user id -> System.nanoTime() the entry expires at
+    private final Map<Long, Long> missingUsers = new ConcurrentHashMap<>();
+    private final AtomicBoolean isSweeping = new AtomicBoolean();
+
+    public UserExistenceFilter(@Value("${shareit-gateway.user-cache.missing-ttl:10s}") Duration missingTtl,
+                               @Value("${shareit-gateway.user-cache.max-size:100000}") int maxSize) {
+        PathPatternParser parser = new PathPatternParser();
+
+        this.userPattern = parser.parse("/users/{id:\\d+}");
+        this.itemPattern = parser.parse("/items/{id:\\d+}");
+        this.missingTtlNanos = missingTtl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        PathContainer path = PathContainer.parsePath(request.url().getRawPath());
+        Long userId = findUserId(request, path);
+
+        if (userId != null && isKnownMissing(userId)) {
+            return Mono.just(notFound(userId));
+        }
+
+        return next.exchange(request)
+                .doOnNext(response -> learn(request, path, userId, response));
+    }
+
+    private Long findUserId(ClientRequest request, PathContainer path) {
+        PathPattern.PathMatchInfo userPath = userPattern.matchAndExtract(path);
+
+        if (userPath != null) {
+            return Long.valueOf(userPath.getUriVariables().get("id"));
+        }
+
+        String header = request.headers().getFirst(USER_HEADER);
+
+        return header != null && isCallerChecked(request, path) ? Long.valueOf(header) : null;
+    }
+
+    /**
+     * Search, item updates and intake polling do not look the caller up on the server, so an
+     * unknown caller must not get a 404 from them here either.
+     */
+    private boolean isCallerChecked(ClientRequest request, PathContainer path) {
+        if (path.value().equals("/items/search") || path.value().startsWith("/bookings/intake/")) {
+            return false;
+        }
+
+        return request.method() != HttpMethod.PATCH || !itemPattern.matches(path);
+    }
+
+    private void learn(ClientRequest request, PathContainer path, Long userId, ClientResponse response) {
+        String unknownUser = response.headers().asHttpHeaders().getFirst(UNKNOWN_USER_HEADER);
+
+        if (unknownUser != null) {
+            putMissing(Long.valueOf(unknownUser));
+            return;
+        }
+
+        if (!response.statusCode().is2xxSuccessful()) {
+            return;
+        }
+
+        if (request.method() == HttpMethod.POST && path.value().equals("/users")) {
+            missingUsers.clear();
+        } else if (request.method() == HttpMethod.DELETE && userPattern.matches(path)) {
+            putMissing(userId);
+        } else if (userId != null && !missingUsers.isEmpty()) {
+            missingUsers.remove(userId);
+        }
+    }
+
+    private static ClientResponse notFound(long userId) {
+        byte[] body = ("{\"error\":\"Пользователь с id " + userId + " не найден\"}").getBytes(StandardCharsets.UTF_8);
+
+        return ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(Flux.<DataBuffer>just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                .build();
+    }
+
+    private boolean isKnownMissing(long userId) {
+        Long expiresAt = missingUsers.get(userId);
+
+        if (expiresAt == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - expiresAt >= 0) {
+            missingUsers.remove(userId, expiresAt);
+            return false;
+        }
+
+        return true;
+    }
+
+    private void putMissing(long userId) {
+        long now = System.nanoTime();
+
+        missingUsers.put(userId, now + missingTtlNanos);
+        sweepIfFull(now);
+    }
+
+    /**
+     * Expired entries go first; if the map is still over max-size, arbitrary ones follow, which
+     * only costs those users a server round trip.
+     */
+    private void sweepIfFull(long now) {
+        if (missingUsers.size() <= maxSize || !isSweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            missingUsers.values().removeIf(expiresAt -> now - expiresAt >= 0);
+
+            Iterator<Long> iterator = missingUsers.keySet().iterator();
+
+            while (missingUsers.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            isSweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int maxSize) {
+        super("At most " + maxSize + " ids can be read in one request");
+    }
+}
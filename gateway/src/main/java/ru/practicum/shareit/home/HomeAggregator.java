@@ -0,0 +1,121 @@
+package ru.practicum.shareit.home;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the home screen from five upstream reads made at the same time. Each section has its
+ * own timeout; a section that fails or times out is null in the document and described under
+ * "errors", so the rest still arrives. Section bodies are embedded as the raw JSON the server
+ * sent, without being parsed.
+ */
+@Service
+public class HomeAggregator {
+    private final UserClient userClient;
+    private final ItemClient itemClient;
+    private final BookingClient bookingClient;
+    private final ItemRequestClient itemRequestClient;
+    private final ObjectMapper objectMapper;
+    private final Duration sectionTimeout;
+
+    public HomeAggregator(UserClient userClient,
+                          ItemClient itemClient,
+                          BookingClient bookingClient,
+                          ItemRequestClient itemRequestClient,
+                          ObjectMapper objectMapper,
+                          @Value("${shareit-gateway.home.section-timeout:2s}") Duration sectionTimeout) {
+        this.userClient = userClient;
+        this.itemClient = itemClient;
+        this.bookingClient = bookingClient;
+        this.itemRequestClient = itemRequestClient;
+        this.objectMapper = objectMapper;
+        this.sectionTimeout = sectionTimeout;
+    }
+
+    public Mono<ResponseEntity<Object>> readHome(long userId, Integer size) {
+        Map<String, Mono<ResponseEntity<Object>>> sections = new LinkedHashMap<>();
+
+        sections.put("user", userClient.read(userId));
+        sections.put("items", itemClient.readAll(userId, 0, size, null));
+        sections.put("currentBookings", bookingClient.readAllBookerBookings(userId, "CURRENT", 0, size, null));
+        sections.put("waitingOwnerBookings", bookingClient.readAllOwnerItemBookings(userId, "WAITING", 0, size, null));
+        sections.put("requests", itemRequestClient.readAllRequestorRequests(userId));
+
+        return Flux.fromIterable(sections.entrySet())
+                .flatMap(section -> section.getValue()
+                        .timeout(sectionTimeout)
+                        .onErrorResume(e -> Mono.just(failure(e)))
+                        .map(response -> Map.entry(section.getKey(), response)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(responses -> combine(sections, responses));
+    }
+
+    private ResponseEntity<Object> combine(Map<String, ?> sections, Map<String, ResponseEntity<Object>> responses) {
+        ResponseEntity<Object> user = responses.get("user");
+
+        // Without the user there is no home screen, so its own error is the answer
+        if (user.getStatusCode() == HttpStatus.NOT_FOUND) {
+            return user;
+        }
+
+        ObjectNode home = objectMapper.createObjectNode();
+        ObjectNode errors = objectMapper.createObjectNode();
+
+        for (String name : sections.keySet()) {
+            ResponseEntity<Object> response = responses.get(name);
+            String body = response.getBody() instanceof byte[]
+                    ? new String((byte[]) response.getBody(), StandardCharsets.UTF_8)
+                    : null;
+
+            if (response.getStatusCode().is2xxSuccessful() && body != null) {
+                home.putRawValue(name, new RawValue(body));
+                continue;
+            }
+
+            home.putNull(name);
+
+            ObjectNode error = errors.putObject(name);
+
+            error.put("status", response.getStatusCodeValue());
+
+            if (body != null && !body.isEmpty()) {
+                error.putRawValue("response", new RawValue(body));
+            } else {
+                error.put("error", String.valueOf(response.getBody()));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            home.set("errors", errors);
+        }
+
+        return ResponseEntity.ok(home);
+    }
+
+    private ResponseEntity<Object> failure(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body("No response within " + sectionTimeout.toMillis() + " ms");
+        }
+
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(String.valueOf(e.getMessage()));
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.home;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/home")
+public class HomeController {
+    private final HomeAggregator homeAggregator;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> readHome(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(defaultValue = "10") @Min(1) @Max(50) Integer size) {
+        return homeAggregator.readHome(userId, size);
+    }
+}
@@ -2,13 +2,16 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -16,48 +19,87 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(long ownerId, ItemDtoInput itemDtoInput) {
+    public Mono<ResponseEntity<Object>> create(long ownerId, ItemDtoInput itemDtoInput) {
         return post("", ownerId, itemDtoInput);
     }
 
-    public ResponseEntity<Object> read(long userId, long id) {
+    public Mono<ResponseEntity<Object>> read(long userId, long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> readAll(long ownerId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> readAllByIds(long userId, List<Long> ids) {
         Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+
+        return get("?ids={ids}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> readAll(long ownerId, Integer from, Integer size, String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
+        ));
+        StringBuilder path = new StringBuilder("?from={from}&size={size}");
 
-        return get("?from={from}&size={size}", ownerId, parameters);
+        if (fields != null) {
+            parameters.put("fields", fields);
+            path.append("&fields={fields}");
+        }
+
+        return get(path.toString(), ownerId, parameters);
     }
 
-    public ResponseEntity<Object> update(long ownerId, ItemDtoInput itemDtoInput, long id) {
+    public Mono<ResponseEntity<Object>> update(long ownerId, ItemDtoInput itemDtoInput, long id) {
         return patch("/" + id, ownerId, itemDtoInput);
     }
 
-    public ResponseEntity<Object> search(long ownerId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> search(long ownerId, String text, LocalDateTime start, LocalDateTime end,
+                                         Integer from, Integer size, String fields) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
+        ));
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}&size={size}");
+
+        if (start != null) {
+            parameters.put("start", start);
+            path.append("&start={start}");
+        }
 
-        return get("/search?text={text}&from={from}&size={size}", ownerId, parameters);
+        if (end != null) {
+            parameters.put("end", end);
+            path.append("&end={end}");
+        }
+
+        if (fields != null) {
+            parameters.put("fields", fields);
+            path.append("&fields={fields}");
+        }
+
+        return get(path.toString(), ownerId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long authorId, CommentDto commentDto, long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(long authorId, CommentDto commentDto, long itemId) {
         return post("/" + itemId + "/comment", authorId, commentDto);
     }
 
+    public Mono<ResponseEntity<Object>> readAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        return get("/" + id + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
 }
\ No newline at end of file
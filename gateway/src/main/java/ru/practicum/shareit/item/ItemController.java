@@ -1,14 +1,20 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,50 +22,80 @@ import java.util.ArrayList;
 public class ItemController {
     private final ItemClient itemClient;
 
+    @Value("${shareit-gateway.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                         @Valid @RequestBody ItemDtoInput itemDtoInput) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                               @Valid @RequestBody ItemDtoInput itemDtoInput) {
         return itemClient.create(ownerId, itemDtoInput);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> read(@RequestHeader("X-Sharer-User-Id") long userId,
-                                       @PathVariable long id) {
+    public Mono<ResponseEntity<Object>> read(@RequestHeader("X-Sharer-User-Id") long userId,
+                                             @PathVariable long id) {
         return itemClient.read(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> readAllByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return itemClient.readAllByIds(userId, ids);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> readAll(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                          @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                          @RequestParam(defaultValue = "10") @Min(1) @Max(200) Integer size) {
+    public Mono<ResponseEntity<Object>> readAll(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                                @RequestParam(defaultValue = "0") @Min(0) Integer from,
+                                                @RequestParam(defaultValue = "10") @Min(1) @Max(200) Integer size,
+                                                @RequestParam(required = false) String fields) {
 
-        return itemClient.readAll(ownerId, from, size);
+        return itemClient.readAll(ownerId, from, size, fields);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                         @RequestBody ItemDtoInput itemDtoInput, @PathVariable long id) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                               @RequestBody ItemDtoInput itemDtoInput, @PathVariable long id) {
         return itemClient.update(ownerId, itemDtoInput, id);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") long ownerId,
-                                         @RequestParam String text,
-                                         @RequestParam(value = "from",
-                                                 defaultValue = "0") @Min(0) Integer from,
-                                         @RequestParam(value = "size", defaultValue = "10")
-                                         @Min(1) @Max(200) Integer size) {
+    public Mono<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") long ownerId,
+                                               @RequestParam String text,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                               @RequestParam(value = "from",
+                                                       defaultValue = "0") @Min(0) Integer from,
+                                               @RequestParam(value = "size", defaultValue = "10")
+                                               @Min(1) @Max(200) Integer size,
+                                               @RequestParam(required = false) String fields) {
         if (text.isBlank()) {
-            return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
+            return Mono.just(new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK));
         }
 
-        return itemClient.search(ownerId, text, from, size);
+        return itemClient.search(ownerId, text, start, end, from, size, fields);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long authorId,
-                                                @Valid @RequestBody CommentDto commentDto, @PathVariable long itemId) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long authorId,
+                                                      @Valid @RequestBody CommentDto commentDto,
+                                                      @PathVariable long itemId) {
         return itemClient.createComment(authorId, commentDto, itemId);
     }
 
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Object>> readAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                         @PathVariable long id,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime to) {
+        return itemClient.readAvailability(userId, id, from, to);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ratelimit;
+
+import javax.servlet.http.HttpServletRequest;
+
+enum EndpointClass {
+    SEARCH,
+    BOOKING_LIST,
+    READ,
+    WRITE;
+
+    static EndpointClass of(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return WRITE;
+        }
+
+        String path = request.getRequestURI();
+
+        if (path.equals("/items/search")) {
+            return SEARCH;
+        }
+
+        if (path.equals("/bookings") || path.equals("/bookings/owner")) {
+            return BOOKING_LIST;
+        }
+
+        return READ;
+    }
+}
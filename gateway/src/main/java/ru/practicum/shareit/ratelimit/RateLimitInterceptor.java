@@ -0,0 +1,127 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-user token buckets, one set per endpoint class, checked before a request reaches a
+ * controller. Callers without X-Sharer-User-Id are limited by remote address. Bucket maps are
+ * swept when they outgrow max-buckets: full buckets are dropped first, since a new bucket
+ * behaves the same, and only then arbitrary ones.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Map<String, TokenBucket>> buckets = new EnumMap<>(EndpointClass.class);
+    private final int maxBuckets;
+    private final AtomicBoolean isSweeping = new AtomicBoolean();
+
+    public RateLimitInterceptor(
+            @Value("${shareit-gateway.rate-limit.search.rate:10}") double searchRate,
+            @Value("${shareit-gateway.rate-limit.search.burst:20}") int searchBurst,
+            @Value("${shareit-gateway.rate-limit.booking-list.rate:10}") double bookingListRate,
+            @Value("${shareit-gateway.rate-limit.booking-list.burst:20}") int bookingListBurst,
+            @Value("${shareit-gateway.rate-limit.read.rate:50}") double readRate,
+            @Value("${shareit-gateway.rate-limit.read.burst:100}") int readBurst,
+            @Value("${shareit-gateway.rate-limit.write.rate:10}") double writeRate,
+            @Value("${shareit-gateway.rate-limit.write.burst:20}") int writeBurst,
+            @Value("${shareit-gateway.rate-limit.max-buckets:100000}") int maxBuckets) {
+        limits.put(EndpointClass.SEARCH, new Limit(searchRate, searchBurst));
+        limits.put(EndpointClass.BOOKING_LIST, new Limit(bookingListRate, bookingListBurst));
+        limits.put(EndpointClass.READ, new Limit(readRate, readBurst));
+        limits.put(EndpointClass.WRITE, new Limit(writeRate, writeBurst));
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            buckets.put(endpointClass, new ConcurrentHashMap<>());
+        }
+
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Controllers return Mono, so each request is dispatched a second time to write the result
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        EndpointClass endpointClass = EndpointClass.of(request);
+        String caller = request.getHeader(USER_HEADER);
+
+        if (caller == null) {
+            caller = request.getRemoteAddr();
+        }
+
+        long now = System.nanoTime();
+        Limit limit = limits.get(endpointClass);
+        Map<String, TokenBucket> classBuckets = buckets.get(endpointClass);
+        TokenBucket bucket = classBuckets.get(caller);
+
+        if (bucket == null) {
+            bucket = classBuckets.computeIfAbsent(caller, key -> new TokenBucket(now));
+            sweepIfFull(now);
+        }
+
+        long wait = bucket.tryAcquire(now, limit.intervalNanos, limit.burstNanos);
+
+        if (wait > 0) {
+            long retryAfterSeconds = Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+            throw new TooManyRequestsException("Too many requests, retry in " + retryAfterSeconds + " s",
+                    retryAfterSeconds);
+        }
+
+        return true;
+    }
+
+    private void sweepIfFull(long now) {
+        if (size() <= maxBuckets || !isSweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            buckets.values().forEach(classBuckets -> classBuckets.values().removeIf(bucket -> bucket.isFull(now)));
+
+            for (Map<String, TokenBucket> classBuckets : buckets.values()) {
+                Iterator<TokenBucket> iterator = classBuckets.values().iterator();
+
+                while (size() > maxBuckets && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        } finally {
+            isSweeping.set(false);
+        }
+    }
+
+    private int size() {
+        return buckets.values().stream()
+                .mapToInt(Map::size)
+                .sum();
+    }
+
+    private static class Limit {
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        Limit(double ratePerSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            this.burstNanos = intervalNanos * burst;
+        }
+    }
+}
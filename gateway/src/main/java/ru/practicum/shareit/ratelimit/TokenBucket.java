@@ -0,0 +1,42 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single timestamp: the moment the bucket would be full again
+ * (the generic cell rate algorithm). Taking a token pushes that moment one refill interval
+ * further, with one CAS and no background refill.
+ */
+class TokenBucket {
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Returns 0 when a token was taken, otherwise how many nanoseconds to wait for the next one.
+     */
+    long tryAcquire(long now, long intervalNanos, long burstNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped without changing limits.
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
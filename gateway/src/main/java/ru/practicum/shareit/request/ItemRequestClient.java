@@ -2,11 +2,10 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
 import java.util.Map;
@@ -16,24 +15,23 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(long requestorId, ItemRequestDtoInput itemRequestDtoInput) {
+    public Mono<ResponseEntity<Object>> create(long requestorId, ItemRequestDtoInput itemRequestDtoInput) {
         return post("", requestorId, itemRequestDtoInput);
     }
 
-    public ResponseEntity<Object> readAllRequestorRequests(long requestorId) {
+    public Mono<ResponseEntity<Object>> readAllRequestorRequests(long requestorId) {
         return get("", requestorId);
     }
 
-    public ResponseEntity<Object> readAllOtherUsersRequests(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> readAllOtherUsersRequests(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +40,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> read(long userId, long id) {
+    public Mono<ResponseEntity<Object>> read(long userId, long id) {
         return get("/" + id, userId);
     }
 
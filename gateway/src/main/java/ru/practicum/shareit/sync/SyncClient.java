@@ -0,0 +1,38 @@
+package ru.practicum.shareit.sync;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+public class SyncClient extends BaseClient {
+    private static final String API_PREFIX = "/sync";
+
+    @Autowired
+    public SyncClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> read(long userId, LocalDateTime since) {
+        if (since == null) {
+            return get("", userId);
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "since", since
+        );
+
+        return get("?since={since}", userId, parameters);
+    }
+}
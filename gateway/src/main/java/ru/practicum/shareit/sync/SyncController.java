@@ -0,0 +1,27 @@
+package ru.practicum.shareit.sync;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/sync")
+public class SyncController {
+    private final SyncClient syncClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> read(@RequestHeader("X-Sharer-User-Id") long userId,
+                                             @RequestParam(required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return syncClient.read(userId, since);
+    }
+}
@@ -2,44 +2,54 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> read(long id) {
+    public Mono<ResponseEntity<Object>> read(long id) {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> readAll() {
+    public Mono<ResponseEntity<Object>> readAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> update(UserDto userDto, long id) {
+    public Mono<ResponseEntity<Object>> readAllByIds(List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids)
+        );
+
+        return get("?ids={ids}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> update(UserDto userDto, long id) {
         return patch("/" + id, userDto);
     }
 
-    public ResponseEntity<Object> delete(long id) {
+    public Mono<ResponseEntity<Object>> delete(long id) {
         return delete("/" + id);
     }
 
@@ -1,10 +1,14 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -12,28 +16,40 @@ import javax.validation.Valid;
 public class UserController {
     private final UserClient userClient;
 
+    @Value("${shareit-gateway.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> read(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> read(@PathVariable long id) {
         return userClient.read(id);
     }
 
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> readAllByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return userClient.readAllByIds(ids);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> readAll() {
+    public Mono<ResponseEntity<Object>> readAll() {
         return userClient.readAll();
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto, @PathVariable long id) {
+    public Mono<ResponseEntity<Object>> update(@RequestBody UserDto userDto, @PathVariable long id) {
         return userClient.update(userDto, id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable long id) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable long id) {
         return userClient.delete(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import ru.practicum.shareit.client.AdaptiveConcurrencyLimiter.Lane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLI = 1_000_000;
+    private static final long WINDOW = 30_000 * MILLI;
+
+    @Test
+    void onSample_whenFastAndLimitInUse_thenLimitIncreased() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4);
+
+        acquire(limiter, Lane.NORMAL, 2);
+        limiter.onSample(10 * MILLI, false, 1);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_whenLimitMostlyIdle_thenLimitKept() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4);
+
+        acquire(limiter, Lane.NORMAL, 1);
+        limiter.onSample(10 * MILLI, false, 1);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_whenDropped_thenLimitDecreased() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(10);
+
+        limiter.onSample(10 * MILLI, true, 1);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_whenSlowerThanBaseline_thenLimitDecreased() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(10);
+
+        acquire(limiter, Lane.NORMAL, 6);
+        limiter.onSample(10 * MILLI, false, 1);
+        limiter.onSample(50 * MILLI, false, 2);
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_whenDroppedRepeatedly_thenLimitNotBelowMin() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(10 * MILLI, true, i);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void release_whenLanesQueued_thenHighLaneAdmittedFirst() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2);
+        List<Lane> admitted = new ArrayList<>();
+
+        acquire(limiter, Lane.NORMAL, 2);
+        limiter.acquire(Lane.LOW).subscribe(null, null, () -> admitted.add(Lane.LOW));
+        limiter.acquire(Lane.NORMAL).subscribe(null, null, () -> admitted.add(Lane.NORMAL));
+        limiter.acquire(Lane.HIGH).subscribe(null, null, () -> admitted.add(Lane.HIGH));
+
+        limiter.release();
+        limiter.release();
+
+        assertEquals(List.of(Lane.HIGH, Lane.NORMAL), admitted);
+        assertEquals(1, limiter.getQueued(Lane.LOW));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void acquire_whenLowLaneShareUsed_thenLowQueuedAndHighAdmitted() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4);
+        AtomicBoolean isHighAdmitted = new AtomicBoolean();
+
+        acquire(limiter, Lane.LOW, 2);
+        limiter.acquire(Lane.LOW).subscribe();
+        limiter.acquire(Lane.HIGH).subscribe(null, null, () -> isHighAdmitted.set(true));
+
+        assertEquals(1, limiter.getQueued(Lane.LOW));
+        assertTrue(isHighAdmitted.get());
+    }
+
+    @Test
+    void acquire_whenQueueFull_thenRejected() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 0.5, 2.0, 1.0, 1, WINDOW);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        acquire(limiter, Lane.NORMAL, 1);
+        limiter.acquire(Lane.NORMAL).subscribe();
+        limiter.acquire(Lane.NORMAL).subscribe(null, error::set);
+
+        assertInstanceOf(AdaptiveConcurrencyLimiter.LaneFullException.class, error.get());
+    }
+
+    @Test
+    void acquire_whenWaiterCancelled_thenRemovedFromQueue() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1);
+
+        acquire(limiter, Lane.NORMAL, 1);
+        Disposable waiter = limiter.acquire(Lane.NORMAL).subscribe();
+        waiter.dispose();
+        limiter.release();
+
+        assertEquals(0, limiter.getQueued(Lane.NORMAL));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 100, 0.5, 2.0, 0.5, 10, WINDOW);
+    }
+
+    private static void acquire(AdaptiveConcurrencyLimiter limiter, Lane lane, int slots) {
+        for (int i = 0; i < slots; i++) {
+            limiter.acquire(lane).block();
+        }
+    }
+}
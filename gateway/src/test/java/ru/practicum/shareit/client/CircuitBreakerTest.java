@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.client.CircuitBreaker.Permit;
+import ru.practicum.shareit.client.CircuitBreaker.State;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long OPEN_DURATION = 1_000;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(4, 4, 0.5, OPEN_DURATION);
+    }
+
+    @Test
+    void onFailure_whenBelowMinimumCalls_thenClosed() {
+        circuitBreaker.onFailure(0);
+        circuitBreaker.onFailure(0);
+        circuitBreaker.onFailure(0);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(Permit.CALL, circuitBreaker.tryAcquire(0));
+    }
+
+    @Test
+    void onFailure_whenFailureRateReached_thenOpenAndRejecting() {
+        openCircuit(0);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(Permit.REJECTED, circuitBreaker.tryAcquire(OPEN_DURATION - 1));
+        assertEquals(1, circuitBreaker.retryAfterNanos(OPEN_DURATION - 1));
+    }
+
+    @Test
+    void onFailure_whenOldFailuresLeftWindow_thenClosed() {
+        circuitBreaker.onFailure(0);
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure(0);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquire_whenOpenDurationPassed_thenSingleTrialAdmitted() {
+        openCircuit(0);
+
+        assertEquals(Permit.TRIAL, circuitBreaker.tryAcquire(OPEN_DURATION));
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(Permit.REJECTED, circuitBreaker.tryAcquire(OPEN_DURATION));
+    }
+
+    @Test
+    void onSuccess_whenTrialSucceeds_thenClosedWithFreshWindow() {
+        openCircuit(0);
+        circuitBreaker.tryAcquire(OPEN_DURATION);
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure(OPEN_DURATION);
+        circuitBreaker.onFailure(OPEN_DURATION);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(Permit.CALL, circuitBreaker.tryAcquire(OPEN_DURATION));
+    }
+
+    @Test
+    void onFailure_whenTrialFails_thenOpenAgain() {
+        openCircuit(0);
+        circuitBreaker.tryAcquire(OPEN_DURATION);
+
+        circuitBreaker.onFailure(OPEN_DURATION);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(Permit.REJECTED, circuitBreaker.tryAcquire(2 * OPEN_DURATION - 1));
+        assertEquals(Permit.TRIAL, circuitBreaker.tryAcquire(2 * OPEN_DURATION));
+    }
+
+    @Test
+    void onIgnored_whenTrialCancelled_thenNextTrialAdmitted() {
+        openCircuit(0);
+        Permit trial = circuitBreaker.tryAcquire(OPEN_DURATION);
+
+        circuitBreaker.onIgnored(trial);
+
+        assertEquals(Permit.TRIAL, circuitBreaker.tryAcquire(OPEN_DURATION));
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onIgnored_whenOrdinaryCallCancelledDuringTrial_thenTrialStillInFlight() {
+        Permit call = circuitBreaker.tryAcquire(0);
+        openCircuit(0);
+
+        assertEquals(Permit.CALL, call);
+        assertEquals(Permit.TRIAL, circuitBreaker.tryAcquire(OPEN_DURATION));
+
+        circuitBreaker.onIgnored(call);
+
+        assertEquals(Permit.REJECTED, circuitBreaker.tryAcquire(OPEN_DURATION));
+    }
+
+    private void openCircuit(long now) {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure(now);
+        circuitBreaker.onFailure(now);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, 10, 2, 100, 0.5, 2.0, 0.5, 10,
+                Duration.ofMillis(50), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void filter_whenGuardRejects_thenLimitKept() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> filter.filter(request(HttpMethod.GET, "/items/1"),
+                    r -> Mono.error(new UpstreamUnavailableException("Service items is unavailable", 1))).block());
+        }
+
+        assertEquals(10, limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void filter_whenUpstreamFails_thenLimitDecreased() {
+        assertThrows(IllegalStateException.class, () -> filter.filter(request(HttpMethod.GET, "/items/1"),
+                r -> Mono.error(new IllegalStateException("Connection reset"))).block());
+
+        assertEquals(5, limit());
+    }
+
+    @Test
+    void filter_whenServerError_thenLimitDecreased() {
+        filter.filter(request(HttpMethod.GET, "/items/1"),
+                r -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())).block();
+
+        assertEquals(5, limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void filter_whenNoSlotFreedInTime_thenShed() {
+        for (int i = 0; i < 5; i++) {
+            filter.filter(request(HttpMethod.GET, "/items"), r -> Mono.never()).subscribe();
+        }
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+                () -> filter.filter(request(HttpMethod.GET, "/items"), r -> Mono.never()).block());
+
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("shareit.gateway.concurrency.rejected").tag("lane", "low").counter().count());
+        assertEquals(0, meterRegistry.get("shareit.gateway.concurrency.queued").tag("lane", "low").gauge().value());
+    }
+
+    @Test
+    void filter_whenBulkReadsHoldLowShare_thenWriteAdmitted() {
+        for (int i = 0; i < 5; i++) {
+            filter.filter(request(HttpMethod.GET, "/items"), r -> Mono.never()).subscribe();
+        }
+
+        ClientResponse response = filter.filter(request(HttpMethod.POST, "/items"),
+                r -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+    }
+
+    private double limit() {
+        return meterRegistry.get("shareit.gateway.concurrency.limit").gauge().value();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.concurrency.in-flight").gauge().value();
+    }
+
+    private static ClientRequest request(HttpMethod method, String path) {
+        return ClientRequest.create(method, URI.create("http://localhost:9090" + path)).build();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingFilterTest {
+    private static final ExchangeFunction FAST = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void filter_whenPrimaryIsSlow_thenHedgeAnswers() {
+        HedgingFilter filter = warmedUp(0.05, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET), slowFirst(calls, Mono.never()))
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.ACCEPTED, response.statusCode());
+        assertEquals(2, calls.get());
+        assertEquals(1, hedges("sent"));
+        assertEquals(1, hedges("won"));
+    }
+
+    @Test
+    void filter_whenPrimaryIsFast_thenNoHedge() {
+        HedgingFilter filter = warmedUp(0.05, 10);
+
+        filter.filter(request(HttpMethod.GET), FAST).block(Duration.ofSeconds(5));
+
+        assertEquals(0, hedges("sent"));
+    }
+
+    @Test
+    void filter_whenBudgetSpent_thenNoHedge() {
+        HedgingFilter filter = warmedUp(0.05, 1);
+        AtomicInteger firstCalls = new AtomicInteger();
+        AtomicInteger secondCalls = new AtomicInteger();
+
+        filter.filter(request(HttpMethod.GET), slowFirst(firstCalls, Mono.never())).block(Duration.ofSeconds(5));
+        ClientResponse response = filter.filter(request(HttpMethod.GET),
+                        slowFirst(secondCalls, delayed(HttpStatus.OK, 100)))
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(1, secondCalls.get());
+        assertEquals(1, hedges("sent"));
+        assertEquals(1, hedges("over-budget"));
+    }
+
+    @Test
+    void filter_whenHedgeFails_thenPrimaryDecides() {
+        HedgingFilter filter = warmedUp(0.05, 10);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> calls.incrementAndGet() == 1
+                ? delayed(HttpStatus.OK, 100)
+                : Mono.error(new IllegalStateException("Connection reset"));
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET), next).block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(2, calls.get());
+        assertEquals(0, hedges("won"));
+    }
+
+    @Test
+    void filter_whenNotGet_thenNeverHedged() {
+        HedgingFilter filter = warmedUp(0.05, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        filter.filter(request(HttpMethod.POST), slowFirst(calls, delayed(HttpStatus.CREATED, 100)))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, hedges("sent"));
+    }
+
+    /**
+     * Fast answers fill the latency window, so the hedge delay drops to min-delay, and earn
+     * 100 * budget-ratio hedges of budget.
+     */
+    private HedgingFilter warmedUp(double budgetRatio, int maxBurst) {
+        HedgingFilter filter = new HedgingFilter(meterRegistry, 0.95, 100, Duration.ofMillis(1), budgetRatio,
+                maxBurst);
+
+        for (int i = 0; i < 100; i++) {
+            filter.filter(request(HttpMethod.GET), FAST).block();
+        }
+
+        return filter;
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("shareit.gateway.hedging.hedges").tag("result", result).counter().count();
+    }
+
+    private static ExchangeFunction slowFirst(AtomicInteger calls, Mono<ClientResponse> first) {
+        return request -> calls.incrementAndGet() == 1
+                ? first
+                : Mono.just(ClientResponse.create(HttpStatus.ACCEPTED).build());
+    }
+
+    private static Mono<ClientResponse> delayed(HttpStatus status, long millis) {
+        return Mono.delay(Duration.ofMillis(millis))
+                .map(tick -> ClientResponse.create(status).build());
+    }
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://localhost:9090/items/1")).build();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyWindowTest {
+
+    @Test
+    void getPercentileNanos_whenFewerSamplesThanRefreshInterval_thenUnknown() {
+        LatencyWindow window = new LatencyWindow(100, 0.9, 10);
+
+        for (int i = 0; i < 9; i++) {
+            window.record(i);
+        }
+
+        assertEquals(-1, window.getPercentileNanos());
+    }
+
+    @Test
+    void getPercentileNanos_whenRefreshed_thenPercentileOfSamples() {
+        LatencyWindow window = new LatencyWindow(100, 0.9, 10);
+
+        for (int i = 10; i >= 1; i--) {
+            window.record(i * 100);
+        }
+
+        assertEquals(1000, window.getPercentileNanos());
+
+        for (int i = 1; i <= 10; i++) {
+            window.record(1);
+        }
+
+        assertEquals(900, window.getPercentileNanos());
+    }
+
+    @Test
+    void getPercentileNanos_whenWindowWrapped_thenOldSamplesForgotten() {
+        LatencyWindow window = new LatencyWindow(10, 0.5, 10);
+
+        for (int i = 0; i < 10; i++) {
+            window.record(1_000);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            window.record(5);
+        }
+
+        assertEquals(5, window.getPercentileNanos());
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancingFilterTest {
+    private static final String FIRST = "http://localhost:9091";
+    private static final String SECOND = "http://localhost:9092";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Integer, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final AtomicReference<HttpStatus> firstHealth = new AtomicReference<>(HttpStatus.OK);
+    private LoadBalancingFilter filter;
+
+    @AfterEach
+    void tearDown() {
+        if (filter != null) {
+            filter.stopProbes();
+        }
+    }
+
+    @Test
+    void filter_whenCallsInFlight_thenSpreadByOutstanding() {
+        filter = newFilter(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(request(), counting(request -> Mono.never())).subscribe();
+        }
+
+        assertEquals(5, calls(FIRST));
+        assertEquals(5, calls(SECOND));
+        assertEquals(5, outstanding(FIRST));
+    }
+
+    @Test
+    void filter_whenCallCompletes_thenOutstandingReleased() {
+        filter = newFilter(Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(request(), counting(ok())).block();
+        }
+
+        assertEquals(10, calls(FIRST) + calls(SECOND));
+        assertEquals(0, outstanding(FIRST));
+        assertEquals(0, outstanding(SECOND));
+    }
+
+    @Test
+    void filter_whenNodeFailsRepeatedly_thenEjected() {
+        filter = newFilter(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        ExchangeFunction firstFailing = request -> request.url().getPort() == 9091
+                ? Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())
+                : ok().exchange(request);
+
+        for (int i = 0; i < 20; i++) {
+            filter.filter(request(), counting(firstFailing)).block();
+        }
+
+        assertEquals(2, calls(FIRST));
+        assertEquals(18, calls(SECOND));
+        assertEquals(0, available(FIRST));
+    }
+
+    @Test
+    void filter_whenEjectionOver_thenNodeReadmitted() throws InterruptedException {
+        filter = newFilter(Duration.ofMillis(50), Duration.ofMinutes(1));
+        AtomicReference<HttpStatus> firstStatus = new AtomicReference<>(HttpStatus.SERVICE_UNAVAILABLE);
+        ExchangeFunction next = request -> Mono.just(ClientResponse.create(request.url().getPort() == 9091
+                ? firstStatus.get()
+                : HttpStatus.OK).build());
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(request(), counting(next)).block();
+        }
+
+        assertEquals(0, available(FIRST));
+
+        firstStatus.set(HttpStatus.OK);
+        Thread.sleep(100);
+
+        assertEquals(1, available(FIRST));
+    }
+
+    @Test
+    void filter_whenAllNodesEjected_thenAllTried() {
+        filter = newFilter(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        ExchangeFunction failing = request -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(request(), counting(failing)).block();
+        }
+
+        assertEquals(10, calls(FIRST) + calls(SECOND));
+        assertTrue(calls(FIRST) >= 2);
+        assertTrue(calls(SECOND) >= 2);
+        assertEquals(0, available(FIRST));
+        assertEquals(0, available(SECOND));
+    }
+
+    @Test
+    void startProbes_whenProbeFailsAndRecovers_thenNodeTakenOutAndReadmitted() throws InterruptedException {
+        filter = newFilter(Duration.ofMinutes(1), Duration.ofMillis(20));
+        firstHealth.set(HttpStatus.SERVICE_UNAVAILABLE);
+        filter.startProbes();
+
+        awaitAvailable(FIRST, 0);
+
+        for (int i = 0; i < 10; i++) {
+            filter.filter(request(), counting(ok())).block();
+        }
+
+        assertEquals(0, calls(FIRST));
+
+        firstHealth.set(HttpStatus.OK);
+
+        awaitAvailable(FIRST, 1);
+    }
+
+    private LoadBalancingFilter newFilter(Duration ejectionTime, Duration probeInterval) {
+        ClientHttpConnector connector = (method, uri, requestCallback) -> Mono.just(new MockClientHttpResponse(
+                uri.getPort() == 9091 ? firstHealth.get() : HttpStatus.OK));
+
+        return new LoadBalancingFilter(meterRegistry, connector, List.of(FIRST, SECOND), 2, ejectionTime,
+                probeInterval, Duration.ofSeconds(1));
+    }
+
+    private ExchangeFunction counting(ExchangeFunction next) {
+        return request -> {
+            calls.computeIfAbsent(request.url().getPort(), port -> new AtomicInteger()).incrementAndGet();
+            return next.exchange(request);
+        };
+    }
+
+    private static ExchangeFunction ok() {
+        return request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+    }
+
+    private int calls(String uri) {
+        AtomicInteger count = calls.get(URI.create(uri).getPort());
+
+        return count == null ? 0 : count.get();
+    }
+
+    private double outstanding(String uri) {
+        return meterRegistry.get("shareit.gateway.balancer.outstanding").tag("instance", uri).gauge().value();
+    }
+
+    private double available(String uri) {
+        return meterRegistry.get("shareit.gateway.balancer.available").tag("instance", uri).gauge().value();
+    }
+
+    private void awaitAvailable(String uri, double expected) throws InterruptedException {
+        for (int i = 0; i < 100 && available(uri) != expected; i++) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(expected, available(uri));
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:9090/items/1")).build();
+    }
+}
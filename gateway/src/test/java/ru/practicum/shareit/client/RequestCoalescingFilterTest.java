@@ -0,0 +1,148 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescingFilterTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private RequestCoalescingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestCoalescingFilter(meterRegistry);
+    }
+
+    @Test
+    void filter_whenIdenticalGetsConcurrent_thenOneCallAndBodyForEach() {
+        Sinks.One<ClientResponse> upstream = Sinks.one();
+        AtomicReference<String> firstBody = new AtomicReference<>();
+        AtomicReference<String> secondBody = new AtomicReference<>();
+
+        filter.filter(request(HttpMethod.GET, "1"), counting(upstream.asMono()))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .subscribe(firstBody::set);
+        filter.filter(request(HttpMethod.GET, "1"), counting(upstream.asMono()))
+                .flatMap(response -> response.bodyToMono(String.class))
+                .subscribe(secondBody::set);
+
+        upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{\"id\":1}").build());
+
+        assertEquals(1, calls.get());
+        assertEquals("{\"id\":1}", firstBody.get());
+        assertEquals("{\"id\":1}", secondBody.get());
+        assertEquals(0.5, meterRegistry.get("shareit.gateway.coalescing.ratio").gauge().value());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void filter_whenOtherUserOrNotGet_thenNotCoalesced() {
+        filter.filter(request(HttpMethod.GET, "1"), counting(Mono.never())).subscribe();
+        filter.filter(request(HttpMethod.GET, "2"), counting(Mono.never())).subscribe();
+        filter.filter(request(HttpMethod.PATCH, "1"), counting(Mono.never())).subscribe();
+        filter.filter(request(HttpMethod.PATCH, "1"), counting(Mono.never())).subscribe();
+
+        assertEquals(4, calls.get());
+        assertEquals(2, inFlight());
+    }
+
+    @Test
+    void filter_whenCallCompleted_thenNextRequestCallsServer() {
+        filter.filter(request(HttpMethod.GET, "1"), counting(ok())).block();
+        filter.filter(request(HttpMethod.GET, "1"), counting(ok())).block();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void filter_whenCallFails_thenEveryWaiterFailsAndEntryRemoved() {
+        Sinks.One<ClientResponse> upstream = Sinks.one();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+
+        filter.filter(request(HttpMethod.GET, "1"), counting(upstream.asMono())).subscribe(null, firstError::set);
+        filter.filter(request(HttpMethod.GET, "1"), counting(upstream.asMono())).subscribe(null, secondError::set);
+
+        upstream.tryEmitError(new IllegalStateException("Connection reset"));
+
+        assertInstanceOf(IllegalStateException.class, firstError.get());
+        assertInstanceOf(IllegalStateException.class, secondError.get());
+        assertEquals(0, inFlight());
+
+        filter.filter(request(HttpMethod.GET, "1"), counting(ok())).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void filter_whenCallerCancels_thenEntryRemoved() {
+        Disposable leader = filter.filter(request(HttpMethod.GET, "1"), counting(Mono.never())).subscribe();
+
+        assertEquals(1, inFlight());
+
+        leader.dispose();
+
+        assertEquals(0, inFlight());
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET, "1"), counting(ok()))
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void filter_whenCancelledCallCompletesLate_thenNewerEntryKept() {
+        Sinks.One<ClientResponse> stale = Sinks.one();
+
+        filter.filter(request(HttpMethod.GET, "1"), counting(stale.asMono())).subscribe().dispose();
+        filter.filter(request(HttpMethod.GET, "1"), counting(Mono.never())).subscribe();
+
+        stale.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+
+        assertEquals(1, inFlight());
+    }
+
+    /**
+     * Counts subscriptions rather than exchange invocations: an unsubscribed exchange never
+     * reaches the server.
+     */
+    private ExchangeFunction counting(Mono<ClientResponse> response) {
+        return request -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.coalescing.in-flight").gauge().value();
+    }
+
+    private static Mono<ClientResponse> ok() {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK).body("{}").build());
+    }
+
+    private static ClientRequest request(HttpMethod method, String userId) {
+        return ClientRequest.create(method, URI.create("http://localhost:9090/items/1"))
+                .header("X-Sharer-User-Id", userId)
+                .build();
+    }
+}
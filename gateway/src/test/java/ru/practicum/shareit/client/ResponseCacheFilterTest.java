@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+    private final List<ClientRequest> sent = new ArrayList<>();
+
+    @Test
+    void filter_whenItemReadByAnotherUser_thenNotRevalidatedWithFirstUsersEtag() {
+        ResponseCacheFilter filter = new ResponseCacheFilter(DataSize.ofMegabytes(1));
+
+        read(filter, "/items/1", 1L, ok("\"v1\"", "{\"id\":1,\"comments\":[]}"));
+        read(filter, "/items/1", 2L, ok("\"v2\"", "{\"id\":1}"));
+        read(filter, "/requests/1", 1L, ok("\"v3\"", "{\"id\":1}"));
+        read(filter, "/requests/1", 2L, ok("\"v4\"", "{\"id\":1}"));
+
+        assertTrue(sent.stream().allMatch(request -> request.headers().getIfNoneMatch().isEmpty()));
+
+        read(filter, "/items/1", 2L, notModified());
+
+        assertEquals(List.of("\"v2\""), sent.get(4).headers().getIfNoneMatch());
+    }
+
+    @Test
+    void filter_whenServerAnswersNotModified_thenCachedBodyAndHeadersReturnedAsOk() {
+        ResponseCacheFilter filter = new ResponseCacheFilter(DataSize.ofMegabytes(1));
+
+        read(filter, "/users/1", null, ok("\"v1\"", "{\"id\":1}"));
+
+        ClientResponse response = filter.filter(request("/users/1", null), capturing(notModified())).block();
+
+        assertNotNull(response);
+        assertEquals(List.of("\"v1\""), sent.get(1).headers().getIfNoneMatch());
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.headers().contentType().orElseThrow());
+        assertEquals(List.of("\"v1\""), response.headers().header(HttpHeaders.ETAG));
+        assertEquals("{\"id\":1}", response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void filter_whenCacheFull_thenLeastRecentlyUsedEvicted() {
+        ResponseCacheFilter filter = new ResponseCacheFilter(DataSize.ofBytes(10));
+
+        read(filter, "/users/1", null, ok("\"v1\"", "1111"));
+        read(filter, "/users/2", null, ok("\"v2\"", "2222"));
+        read(filter, "/users/1", null, notModified());
+        read(filter, "/users/3", null, ok("\"v3\"", "3333"));
+
+        read(filter, "/users/1", null, notModified());
+        read(filter, "/users/3", null, notModified());
+        read(filter, "/users/2", null, ok("\"v2\"", "2222"));
+
+        assertEquals(List.of("\"v1\""), sent.get(4).headers().getIfNoneMatch());
+        assertEquals(List.of("\"v3\""), sent.get(5).headers().getIfNoneMatch());
+        assertTrue(sent.get(6).headers().getIfNoneMatch().isEmpty());
+    }
+
+    @Test
+    void filter_whenBodyLargerThanMaxSize_thenNotCached() {
+        ResponseCacheFilter filter = new ResponseCacheFilter(DataSize.ofBytes(10));
+
+        read(filter, "/users/1", null, ok("\"v1\"", "{\"name\":\"long name\"}"));
+        read(filter, "/users/1", null, ok("\"v1\"", "{\"name\":\"long name\"}"));
+
+        assertTrue(sent.get(1).headers().getIfNoneMatch().isEmpty());
+    }
+
+    /**
+     * The body is stored as it is read, so the caller has to consume it like BaseClient does.
+     */
+    private void read(ResponseCacheFilter filter, String path, Long userId, Mono<ClientResponse> response) {
+        ClientResponse clientResponse = filter.filter(request(path, userId), capturing(response)).block();
+
+        assertNotNull(clientResponse);
+        clientResponse.bodyToMono(String.class).block();
+    }
+
+    private ExchangeFunction capturing(Mono<ClientResponse> response) {
+        return request -> {
+            sent.add(request);
+            return response;
+        };
+    }
+
+    private static Mono<ClientResponse> ok(String etag, String body) {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, etag)
+                .body(body)
+                .build());
+    }
+
+    private static Mono<ClientResponse> notModified() {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+    }
+
+    private static ClientRequest request(String path, Long userId) {
+        ClientRequest.Builder builder = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:9090" + path));
+
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerInstanceTest {
+    private static final int MAX_FAILURES = 3;
+    private static final long EJECTION = 1_000;
+
+    private ServerInstance instance;
+
+    @BeforeEach
+    void setUp() {
+        instance = new ServerInstance(URI.create("http://localhost:9090"));
+    }
+
+    @Test
+    void onFailure_whenConsecutiveFailuresReachMax_thenEjected() {
+        fail(MAX_FAILURES - 1);
+
+        assertTrue(instance.isAvailable(0));
+
+        fail(1);
+
+        assertFalse(instance.isAvailable(0));
+        assertFalse(instance.isAvailable(EJECTION - 1));
+    }
+
+    @Test
+    void onSuccess_whenBetweenFailures_thenCountRestarts() {
+        fail(MAX_FAILURES - 1);
+        instance.onSuccess();
+        fail(MAX_FAILURES - 1);
+
+        assertTrue(instance.isAvailable(0));
+    }
+
+    @Test
+    void isAvailable_whenEjectionOver_thenReadmittedWithFreshCount() {
+        fail(MAX_FAILURES);
+
+        assertTrue(instance.isAvailable(EJECTION));
+
+        fail(MAX_FAILURES - 1);
+
+        assertTrue(instance.isAvailable(EJECTION));
+    }
+
+    @Test
+    void isAvailable_whenProbeFails_thenUnavailableUntilProbeSucceeds() {
+        instance.setProbeHealthy(false);
+
+        assertFalse(instance.isAvailable(0));
+
+        instance.setProbeHealthy(true);
+
+        assertTrue(instance.isAvailable(0));
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            instance.onFailure(0, MAX_FAILURES, EJECTION);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.UpstreamUnavailableException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardFilterTest {
+    private static final ExchangeFunction OK = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+    private static final ExchangeFunction FAILING = request -> Mono.just(ClientResponse
+            .create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+    private MeterRegistry meterRegistry;
+    private UpstreamGuardFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UpstreamGuardFilter(meterRegistry, 2, 4, 4, 0.5, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void filter_whenBulkheadFull_thenRejectedWithoutCallingServer() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction hanging = request -> {
+            calls.incrementAndGet();
+            return Mono.never();
+        };
+
+        Disposable first = filter.filter(request("/items/1"), hanging).subscribe();
+        Disposable second = filter.filter(request("/items/2"), hanging).subscribe();
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+                () -> filter.filter(request("/items/3"), hanging).block());
+
+        assertEquals("Service items is overloaded", e.getMessage());
+        assertEquals(2, calls.get());
+        assertEquals(1, rejected("items", "bulkhead"));
+
+        first.dispose();
+        second.dispose();
+
+        assertEquals(0, meterRegistry.get("shareit.gateway.guard.active-calls").tag("group", "items")
+                .gauge().value());
+        assertNotNull(filter.filter(request("/items/3"), OK).block());
+    }
+
+    @Test
+    void filter_whenOtherGroupBulkheadFull_thenAdmitted() {
+        filter.filter(request("/items/1"), request -> Mono.never()).subscribe();
+        filter.filter(request("/items/2"), request -> Mono.never()).subscribe();
+
+        ClientResponse response = filter.filter(request("/users/1"), OK).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+    }
+
+    @Test
+    void filter_whenServerErrorsReachThreshold_thenCircuitOpen() {
+        for (int i = 0; i < 4; i++) {
+            filter.filter(request("/bookings/1"), FAILING).block();
+        }
+
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+                () -> filter.filter(request("/bookings/1"), OK).block());
+
+        assertEquals("Service bookings is temporarily unavailable", e.getMessage());
+        assertEquals(60, e.getRetryAfterSeconds());
+        assertEquals(1, rejected("bookings", "circuit-breaker"));
+        assertNotNull(filter.filter(request("/items/1"), OK).block());
+    }
+
+    @Test
+    void filter_whenPathOutsideGroups_thenPassedThrough() {
+        filter.filter(request("/sync"), request -> Mono.never()).subscribe();
+        filter.filter(request("/sync"), request -> Mono.never()).subscribe();
+
+        assertNotNull(filter.filter(request("/sync"), OK).block());
+    }
+
+    private double rejected(String group, String reason) {
+        return meterRegistry.get("shareit.gateway.guard.rejected")
+                .tags("group", group, "reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:9090" + path)).build();
+    }
+}
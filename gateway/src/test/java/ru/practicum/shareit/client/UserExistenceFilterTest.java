@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.handler.Violation;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExistenceFilterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void filter_whenServerNamedUnknownUser_thenNextRequestAnsweredWithServerShaped404() throws Exception {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMinutes(1), 100);
+
+        filter.filter(request(HttpMethod.GET, "/bookings", 7L), counting(unknownUser(7))).block();
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET, "/items", 7L), counting(ok())).block();
+
+        assertNotNull(response);
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.NOT_FOUND, response.statusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.headers().contentType().orElseThrow());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(
+                        new Violation("Пользователь с id 7 не найден"))),
+                objectMapper.readTree(response.bodyToMono(String.class).block()));
+    }
+
+    @Test
+    void filter_whenMissingTtlOver_thenServerAskedAgain() throws InterruptedException {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMillis(50), 100);
+
+        filter.filter(request(HttpMethod.GET, "/users/7", null), counting(unknownUser(7))).block();
+        Thread.sleep(100);
+        filter.filter(request(HttpMethod.GET, "/users/7", null), counting(ok())).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void filter_whenUserDeleted_thenUnknownAtOnce() {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMinutes(1), 100);
+
+        filter.filter(request(HttpMethod.DELETE, "/users/7", null), counting(ok())).block();
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET, "/bookings", 7L), counting(ok())).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.statusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void filter_whenUserCreated_thenUnknownUsersForgotten() {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMinutes(1), 100);
+
+        filter.filter(request(HttpMethod.GET, "/users/7", null), counting(unknownUser(7))).block();
+        filter.filter(request(HttpMethod.POST, "/users", null), counting(ok())).block();
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET, "/users/7", null), counting(ok())).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void filter_whenCallerNotCheckedByServer_thenNotShortCircuited() {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMinutes(1), 100);
+
+        filter.filter(request(HttpMethod.GET, "/users/7", null), counting(unknownUser(7))).block();
+
+        ClientResponse response = filter.filter(request(HttpMethod.GET, "/items/search", 7L), counting(ok()))
+                .block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void filter_whenMoreMissingUsersThanMaxSize_thenBounded() {
+        UserExistenceFilter filter = new UserExistenceFilter(Duration.ofMinutes(1), 2);
+
+        for (long userId = 1; userId <= 5; userId++) {
+            filter.filter(request(HttpMethod.GET, "/users/" + userId, null), counting(unknownUser(userId))).block();
+        }
+
+        assertTrue(missingUsers(filter).size() <= 2);
+    }
+
+    private ExchangeFunction counting(Mono<ClientResponse> response) {
+        return request -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Long> missingUsers(UserExistenceFilter filter) {
+        return (Map<Long, Long>) ReflectionTestUtils.getField(filter, "missingUsers");
+    }
+
+    private static Mono<ClientResponse> ok() {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK).build());
+    }
+
+    private static Mono<ClientResponse> unknownUser(long userId) {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header("X-Unknown-User-Id", String.valueOf(userId))
+                .build());
+    }
+
+    private static ClientRequest request(HttpMethod method, String path, Long userId) {
+        ClientRequest.Builder builder = ClientRequest.create(method, URI.create("http://localhost:9090" + path));
+
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.home;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeAggregatorTest {
+    private static final String USER = "{\"id\": 1,  \"name\": \"User1\"}";
+
+    @Mock
+    private UserClient userClient;
+    @Mock
+    private ItemClient itemClient;
+    @Mock
+    private BookingClient bookingClient;
+    @Mock
+    private ItemRequestClient itemRequestClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HomeAggregator homeAggregator;
+
+    @BeforeEach
+    void setUp() {
+        homeAggregator = new HomeAggregator(userClient, itemClient, bookingClient, itemRequestClient, objectMapper,
+                Duration.ofMillis(200));
+
+        Mockito.when(userClient.read(1L)).thenReturn(ok(USER));
+        Mockito.when(itemClient.readAll(1L, 0, 10, null)).thenReturn(ok("[{\"id\":1}]"));
+        Mockito.when(bookingClient.readAllBookerBookings(1L, "CURRENT", 0, 10, null)).thenReturn(ok("[]"));
+        Mockito.when(bookingClient.readAllOwnerItemBookings(1L, "WAITING", 0, 10, null)).thenReturn(ok("[]"));
+        Mockito.when(itemRequestClient.readAllRequestorRequests(1L)).thenReturn(ok("[]"));
+    }
+
+    @Test
+    void readHome_whenAllSectionsAnswer_thenRawBodiesEmbeddedWithoutErrors() throws Exception {
+        ResponseEntity<Object> response = homeAggregator.readHome(1L, 10).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        String home = objectMapper.writeValueAsString(response.getBody());
+
+        // the server's spacing survives, so the body was not parsed and written again
+        assertTrue(home.contains("\"user\":" + USER));
+        assertEquals("[{\"id\":1}]", objectMapper.readTree(home).get("items").toString());
+        assertFalse(objectMapper.readTree(home).has("errors"));
+    }
+
+    @Test
+    void readHome_whenSectionTimesOut_thenNullAndGatewayTimeoutUnderErrors() throws Exception {
+        Mockito.when(bookingClient.readAllOwnerItemBookings(1L, "WAITING", 0, 10, null)).thenReturn(Mono.never());
+
+        JsonNode home = readHome();
+
+        assertTrue(home.get("waitingOwnerBookings").isNull());
+        assertEquals(504, home.get("errors").get("waitingOwnerBookings").get("status").asInt());
+        assertEquals("User1", home.get("user").get("name").asText());
+        assertFalse(home.get("errors").has("items"));
+    }
+
+    @Test
+    void readHome_whenSectionFails_thenNullAndErrorDescribed() throws Exception {
+        Mockito.when(itemClient.readAll(1L, 0, 10, null))
+                .thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+        Mockito.when(itemRequestClient.readAllRequestorRequests(1L))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body("{\"error\":\"Boom\"}".getBytes(StandardCharsets.UTF_8))));
+
+        JsonNode home = readHome();
+
+        assertTrue(home.get("items").isNull());
+        assertEquals(502, home.get("errors").get("items").get("status").asInt());
+        assertEquals("Connection refused", home.get("errors").get("items").get("error").asText());
+        assertTrue(home.get("requests").isNull());
+        assertEquals(500, home.get("errors").get("requests").get("status").asInt());
+        assertEquals("Boom", home.get("errors").get("requests").get("response").get("error").asText());
+        assertTrue(home.get("currentBookings").isArray());
+    }
+
+    @Test
+    void readHome_whenUserNotFound_thenUserNotFoundReturned() {
+        byte[] notFound = "{\"error\":\"Пользователь с id 1 не найден\"}".getBytes(StandardCharsets.UTF_8);
+
+        Mockito.when(userClient.read(1L)).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(notFound)));
+
+        ResponseEntity<Object> response = homeAggregator.readHome(1L, 10).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertSame(notFound, response.getBody());
+    }
+
+    private JsonNode readHome() throws Exception {
+        ResponseEntity<Object> response = homeAggregator.readHome(1L, 10).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        return objectMapper.readTree(objectMapper.writeValueAsString(response.getBody()));
+    }
+
+    private static Mono<ResponseEntity<Object>> ok(String body) {
+        return Mono.just(ResponseEntity.ok(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_whenBurstUsed_thenTooManyRequests() {
+        RateLimitInterceptor interceptor = newInterceptor(1, 100);
+
+        assertTrue(interceptor.preHandle(request("GET", "/items/1", "1"), response, null));
+        assertTrue(interceptor.preHandle(request("GET", "/items/1", "1"), response, null));
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "/items/1", "1"), response, null));
+
+        assertEquals(1, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void preHandle_whenOtherCallerOrEndpointClass_thenSeparateBucket() {
+        RateLimitInterceptor interceptor = newInterceptor(1, 100);
+
+        interceptor.preHandle(request("GET", "/items/1", "1"), response, null);
+        interceptor.preHandle(request("GET", "/items/1", "1"), response, null);
+
+        assertTrue(interceptor.preHandle(request("GET", "/items/1", "2"), response, null));
+        assertTrue(interceptor.preHandle(request("POST", "/items", "1"), response, null));
+        assertTrue(interceptor.preHandle(request("GET", "/items/search", "1"), response, null));
+    }
+
+    @Test
+    void preHandle_whenNoUserHeader_thenLimitedByAddress() {
+        RateLimitInterceptor interceptor = newInterceptor(1, 100);
+
+        interceptor.preHandle(request("GET", "/items/1", null), response, null);
+        interceptor.preHandle(request("GET", "/items/1", null), response, null);
+
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "/items/1", null), response, null));
+    }
+
+    @Test
+    void preHandle_whenBucketsOutgrowMax_thenFullBucketsSweptFirst() throws InterruptedException {
+        RateLimitInterceptor interceptor = newInterceptor(10, 2);
+
+        interceptor.preHandle(request("GET", "/items/1", "1"), response, null);
+        Thread.sleep(150);
+        interceptor.preHandle(request("GET", "/items/1", "2"), response, null);
+        interceptor.preHandle(request("POST", "/items", "3"), response, null);
+
+        assertFalse(buckets(interceptor, EndpointClass.READ).containsKey("1"));
+        assertTrue(buckets(interceptor, EndpointClass.READ).containsKey("2"));
+    }
+
+    @Test
+    void preHandle_whenNoBucketFull_thenTrimmedToMax() {
+        RateLimitInterceptor interceptor = newInterceptor(1, 3);
+
+        for (int caller = 0; caller < 10; caller++) {
+            interceptor.preHandle(request("GET", "/items/1", Integer.toString(caller)), response, null);
+        }
+
+        assertTrue(buckets(interceptor, EndpointClass.READ).size() <= 3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, TokenBucket> buckets(RateLimitInterceptor interceptor, EndpointClass endpointClass) {
+        return ((Map<EndpointClass, Map<String, TokenBucket>>) ReflectionTestUtils.getField(interceptor, "buckets"))
+                .get(endpointClass);
+    }
+
+    private static RateLimitInterceptor newInterceptor(double rate, int maxBuckets) {
+        return new RateLimitInterceptor(rate, 2, rate, 2, rate, 2, rate, 2, maxBuckets);
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long INTERVAL = 10;
+    private static final long BURST = 100;
+
+    @Test
+    void tryAcquire_whenNew_thenFullBurstAvailable() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 0; i < BURST / INTERVAL; i++) {
+            assertEquals(0, bucket.tryAcquire(0, INTERVAL, BURST));
+        }
+
+        assertEquals(INTERVAL, bucket.tryAcquire(0, INTERVAL, BURST));
+    }
+
+    @Test
+    void tryAcquire_whenRejected_thenNothingTaken() {
+        TokenBucket bucket = drained();
+
+        assertEquals(INTERVAL, bucket.tryAcquire(0, INTERVAL, BURST));
+        assertEquals(INTERVAL - 4, bucket.tryAcquire(4, INTERVAL, BURST));
+        assertEquals(0, bucket.tryAcquire(INTERVAL, INTERVAL, BURST));
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_thenBurstNotExceeded() {
+        TokenBucket bucket = drained();
+        long later = 10 * BURST;
+
+        for (int i = 0; i < BURST / INTERVAL; i++) {
+            assertEquals(0, bucket.tryAcquire(later, INTERVAL, BURST));
+        }
+
+        assertTrue(bucket.tryAcquire(later, INTERVAL, BURST) > 0);
+    }
+
+    @Test
+    void isFull_whenRefilled_thenTrue() {
+        TokenBucket bucket = drained();
+
+        assertFalse(bucket.isFull(0));
+        assertFalse(bucket.isFull(BURST - 1));
+        assertTrue(bucket.isFull(BURST));
+    }
+
+    @Test
+    void tryAcquire_whenContended_thenExactlyBurstTaken() throws Exception {
+        TokenBucket bucket = new TokenBucket(0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Callable<Integer> task = () -> {
+            int taken = 0;
+
+            for (int i = 0; i < 1_000; i++) {
+                taken += bucket.tryAcquire(0, 1, 1_000) == 0 ? 1 : 0;
+            }
+
+            return taken;
+        };
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(task));
+            }
+
+            int taken = 0;
+
+            for (Future<Integer> result : results) {
+                taken += result.get();
+            }
+
+            assertEquals(1_000, taken);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        while (bucket.tryAcquire(0, INTERVAL, BURST) == 0) {
+            // take every token of the burst
+        }
+
+        return bucket;
+    }
+}
@@ -1,14 +1,20 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,18 +22,49 @@ import java.util.Collection;
 public class BookingController {
     private final BookingService bookingService;
 
+    @Value("${shareit.booking.intake.async:false}")
+    private boolean isAsyncIntake;
+
+    @Value("${shareit.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
-    public BookingDtoOutput create(@RequestHeader("X-Sharer-User-Id") long bookerId,
-                                   @RequestBody BookingDtoInput bookingDtoInput) {
-        return bookingService.create(bookerId, bookingDtoInput);
+    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                         @RequestBody BookingDtoInput bookingDtoInput) {
+        if (isAsyncIntake) {
+            return ResponseEntity.accepted().body(bookingService.enqueue(bookerId, bookingDtoInput));
+        }
+
+        return ResponseEntity.ok(bookingService.create(bookerId, bookingDtoInput));
+    }
+
+    @GetMapping("/intake/{handle}")
+    public BookingHandleDto readIntake(@RequestHeader("X-Sharer-User-Id") long bookerId,
+                                       @PathVariable String handle) {
+        return bookingService.readIntake(bookerId, handle);
     }
 
     @GetMapping("/{id}")
     public BookingDtoOutput read(@RequestHeader("X-Sharer-User-Id") long userId,
-                                 @PathVariable long id) {
+                                 @PathVariable long id,
+                                 WebRequest request) {
+        if (request.checkNotModified(bookingService.readEtag(userId, id))) {
+            return null;
+        }
+
         return bookingService.read(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    public Collection<BookingDtoOutput> readAllByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return bookingService.readAllByIds(userId, ids);
+    }
+
     @GetMapping
     public Collection<BookingDtoOutput> readAllBookerBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                                               @RequestParam(defaultValue = "ALL") String state,
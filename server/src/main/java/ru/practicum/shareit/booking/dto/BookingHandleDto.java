@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
+
+@Data
+@AllArgsConstructor
+public class BookingHandleDto {
+    private String handle;
+    private BookingIntakeStatus status;
+    private Long bookingId;
+    private String error;
+}
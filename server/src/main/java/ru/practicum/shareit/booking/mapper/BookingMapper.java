@@ -4,10 +4,15 @@ import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.booking.dto.BookingDtoForOwner;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingIntakeResult;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.dto.ItemDtoOutput;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
@@ -31,6 +36,40 @@ public class BookingMapper {
                 booking.getStatus());
     }
 
+    public BookingView mapToBookingView(Booking booking) {
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+
+        return new BookingView(booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus(),
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                booker.getId(),
+                booker.getName(),
+                booker.getEmail(),
+                item.getOwner().getId());
+    }
+
+    public BookingDtoOutput mapToBookingDtoOutput(BookingView bookingView) {
+        return new BookingDtoOutput(bookingView.getId(),
+                bookingView.getStart(),
+                bookingView.getEnd(),
+                new ItemDtoOutput(bookingView.getItemId(),
+                        bookingView.getItemName(),
+                        bookingView.getItemDescription(),
+                        bookingView.getItemAvailable(),
+                        null,
+                        null),
+                new UserDto(bookingView.getBookerId(),
+                        bookingView.getBookerName(),
+                        bookingView.getBookerEmail()),
+                bookingView.getStatus());
+    }
+
     public BookingDtoForOwner maptoBookingDtoForOwner(Booking booking) {
         if (booking == null) {
             return null;
@@ -40,4 +79,10 @@ public class BookingMapper {
                 booking.getBooker().getId());
     }
 
-}
\ No newline at end of file
+    public BookingHandleDto mapToBookingHandleDto(BookingIntakeResult result) {
+        return new BookingHandleDto(result.getHandle(),
+                result.getStatus(),
+                result.getBookingId(),
+                result.getError());
+    }
+}
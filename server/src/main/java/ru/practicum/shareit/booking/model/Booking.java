@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.model;
 
 import lombok.*;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.sync.model.ChangeTracked;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -14,9 +15,14 @@ import java.time.LocalDateTime;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-public class Booking {
+public class Booking extends ChangeTracked {
+    /**
+     * A sequence rather than an identity column, so Hibernate knows the ids before inserting and
+     * can send a group of new bookings as one JDBC batch.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "start_date", nullable = false)
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * How a queued booking ended, kept for polling by handle. It is written in the transaction that
+ * stores the booking, so a poll reaching any instance sees it once the group commits.
+ */
+@Entity
+@Table(name = "booking_intake_results")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BookingIntakeResult implements Persistable<String> {
+    @Id
+    private String handle;
+
+    @Column(name = "booker_id", nullable = false)
+    private long bookerId;
+
+    @Enumerated(EnumType.STRING)
+    private BookingIntakeStatus status;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    private String error;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient boolean stored;
+
+    public BookingIntakeResult(String handle, long bookerId, BookingIntakeStatus status, Long bookingId,
+                               String error, LocalDateTime completedAt) {
+        this.handle = handle;
+        this.bookerId = bookerId;
+        this.status = status;
+        this.bookingId = bookingId;
+        this.error = error;
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String getId() {
+        return handle;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.sync.model.ChangeTracked;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "booking_view")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BookingView extends ChangeTracked implements Persistable<Long> {
+    @Id
+    private long id;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    private BookingApproval status;
+
+    @Column(name = "item_id", nullable = false)
+    private long itemId;
+
+    @Column(name = "item_name", nullable = false)
+    private String itemName;
+
+    @Column(name = "item_description", nullable = false)
+    private String itemDescription;
+
+    @Column(name = "item_is_available", nullable = false)
+    private Boolean itemAvailable;
+
+    @Column(name = "booker_id", nullable = false)
+    private long bookerId;
+
+    @Column(name = "booker_name", nullable = false)
+    private String bookerName;
+
+    @Column(name = "booker_email", nullable = false)
+    private String bookerEmail;
+
+    @Column(name = "owner_id", nullable = false)
+    private long ownerId;
+
+    /**
+     * The id is the booking's, assigned before the row exists, so Spring Data cannot tell a new view
+     * from a stored one by it and would merge, selecting the row before every insert.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient boolean stored;
+
+    public BookingView(long id, LocalDateTime start, LocalDateTime end, BookingApproval status, long itemId,
+                       String itemName, String itemDescription, Boolean itemAvailable, long bookerId,
+                       String bookerName, String bookerEmail, long ownerId) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.itemDescription = itemDescription;
+        this.itemAvailable = itemAvailable;
+        this.bookerId = bookerId;
+        this.bookerName = bookerName;
+        this.bookerEmail = bookerEmail;
+        this.ownerId = ownerId;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingIntakeResult;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BookingIntakeResultRepository extends JpaRepository<BookingIntakeResult, String> {
+    Optional<BookingIntakeResult> findByHandleAndBookerId(String handle, long bookerId);
+
+    @Modifying
+    @Query("DELETE FROM BookingIntakeResult r WHERE r.completedAt < ?1")
+    int deleteAllCompletedBefore(LocalDateTime completedBefore);
+}
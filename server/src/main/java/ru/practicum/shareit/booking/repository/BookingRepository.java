@@ -3,13 +3,16 @@ package ru.practicum.shareit.booking.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -66,4 +69,49 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                                 List<BookingApproval> status);
 
     List<Booking> findAllByItem_Id(long itemId);
-}
\ No newline at end of file
+
+    List<Booking> findAllByItem_IdAndStatusIn(long itemId, List<BookingApproval> status);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.id = ?1")
+    Optional<Booking> findWithItemAndBookerById(long id);
+
+    List<Booking> findAllByItem_IdInAndStatus(Collection<Long> itemIds, BookingApproval status);
+
+    /**
+     * Bookings among ids that userId booked or owns the item of, with item, owner and booker
+     * fetched in the same query.
+     */
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH i.owner o " +
+            "JOIN FETCH b.booker u " +
+            "WHERE b.id IN ?1 " +
+            "AND (u.id = ?2 OR o.id = ?2)")
+    List<Booking> findAllVisibleByIdIn(Collection<Long> ids, long userId);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND b.status = ?2 " +
+            "AND b.start < ?4 " +
+            "AND b.end > ?3")
+    List<Booking> findAllOverlapping(Collection<Long> itemIds, BookingApproval status,
+                                     LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = ?1 " +
+            "AND b.status = ?2 " +
+            "AND b.start < ?4 " +
+            "AND b.end > ?3")
+    boolean existsOverlapping(long itemId, BookingApproval status, LocalDateTime start, LocalDateTime end);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = ?3, b.updatedAt = ?4 " +
+            "WHERE b.id = ?1 " +
+            "AND b.status <> ru.practicum.shareit.booking.model.BookingApproval.APPROVED " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?2)")
+    int updateStatus(long id, long ownerId, BookingApproval status, LocalDateTime updatedAt);
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingViewRepository extends JpaRepository<BookingView, Long>, BookingViewRepositoryCustom {
+    Page<BookingView> findAllByBookerIdOrderByStartDesc(Pageable pageable, long bookerId);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.bookerId = ?1 " +
+            "AND b.start <= ?2 " +
+            "AND b.end >= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllBookerCurrentBookings(Pageable pageable, long bookerId, LocalDateTime now);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.bookerId = ?1 " +
+            "AND b.start <= ?2 " +
+            "AND b.end <= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllBookerPastBookings(Pageable pageable, long bookerId, LocalDateTime now);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.bookerId = ?1 " +
+            "AND b.start >= ?2 " +
+            "AND b.end >= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllBookerFutureBookings(Pageable pageable, long bookerId, LocalDateTime now);
+
+    Page<BookingView> findAllByBookerIdAndStatusOrderByStartDesc(Pageable pageable, long bookerId,
+                                                                 BookingApproval status);
+
+    Page<BookingView> findAllByOwnerIdOrderByStartDesc(Pageable pageable, long ownerId);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.ownerId = ?1 " +
+            "AND b.start <= ?2 " +
+            "AND b.end >= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllOwnerCurrentBookings(Pageable pageable, long ownerId, LocalDateTime now);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.ownerId = ?1 " +
+            "AND b.start <= ?2 " +
+            "AND b.end <= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllOwnerPastBookings(Pageable pageable, long ownerId, LocalDateTime now);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE b.ownerId = ?1 " +
+            "AND b.start >= ?2 " +
+            "AND b.end >= ?2 " +
+            "ORDER BY b.start DESC")
+    Page<BookingView> readAllOwnerFutureBookings(Pageable pageable, long ownerId, LocalDateTime now);
+
+    Page<BookingView> findAllByOwnerIdAndStatusOrderByStartDesc(Pageable pageable, long ownerId,
+                                                                BookingApproval status);
+
+    @Modifying
+    @Query("UPDATE BookingView b " +
+            "SET b.itemName = ?2, b.itemDescription = ?3, b.itemAvailable = ?4, b.updatedAt = ?5 " +
+            "WHERE b.itemId = ?1")
+    int updateItem(long itemId, String name, String description, Boolean available, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE BookingView b " +
+            "SET b.bookerName = ?2, b.bookerEmail = ?3, b.updatedAt = ?4 " +
+            "WHERE b.bookerId = ?1")
+    int updateBooker(long bookerId, String name, String email, LocalDateTime updatedAt);
+
+    @Query("SELECT b FROM BookingView b " +
+            "WHERE (b.bookerId = ?1 OR b.ownerId = ?1) " +
+            "AND b.updatedAt >= ?2")
+    List<BookingView> findAllChangedSince(long userId, LocalDateTime since);
+
+    /**
+     * The view row is touched whenever the booking, its item or its booker changes, so its
+     * updated_at versions the whole booking representation.
+     */
+    @Query("SELECT b.updatedAt FROM BookingView b " +
+            "WHERE b.id = ?1 " +
+            "AND (b.bookerId = ?2 OR b.ownerId = ?2)")
+    Optional<LocalDateTime> findUpdatedAtVisibleTo(long id, long userId);
+}
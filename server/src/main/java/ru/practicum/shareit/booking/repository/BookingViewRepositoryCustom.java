@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BookingViewRepositoryCustom {
+    /**
+     * Sets the status of the booking view in one statement and returns the updated view,
+     * so empty means the view row is missing.
+     */
+    Optional<BookingView> updateStatus(long id, BookingApproval status, LocalDateTime updatedAt);
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.repository.ReturningUpdate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class BookingViewRepositoryImpl implements BookingViewRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<BookingView> updateStatus(long id, BookingApproval status, LocalDateTime updatedAt) {
+        return ReturningUpdate.execute(entityManager, BookingView.class, id,
+                "UPDATE booking_view SET status = ?1, updated_at = ?2 WHERE id = ?3",
+                List.of(status.name(), updatedAt, id));
+    }
+}
@@ -0,0 +1,342 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingIntakeResult;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
+import ru.practicum.shareit.booking.repository.BookingIntakeResultRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.exception.ServiceOverloadedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous booking intake. Validated bookings are put on a bounded queue and a single
+ * writer thread stores them in groups, one transaction per group, so a burst of POST /bookings
+ * costs a few commits instead of one per request. Each group's results are stored with its
+ * bookings, so any instance can answer a poll by handle.
+ * <p>
+ * The queue itself lives in the instance that accepted the request: until the group commits, the
+ * handle is known only there, a poll routed to another instance gets 404 and should be repeated,
+ * and bookings still queued when the instance dies are lost.
+ */
+@Slf4j
+@Component
+public class BookingIntake {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingViewRepository bookingViewRepository;
+    private final BookingIntakeResultRepository bookingIntakeResultRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingBooking> queue;
+    // queued bookings, and results that could not be stored
+    private final Map<String, PendingBooking> handles = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final Duration handleRetention;
+    private volatile boolean isRunning;
+    private Thread writer;
+
+    public BookingIntake(BookingRepository bookingRepository,
+                         BookingViewRepository bookingViewRepository,
+                         BookingIntakeResultRepository bookingIntakeResultRepository,
+                         UserRepository userRepository,
+                         ItemRepository itemRepository,
+                         ItemAvailabilityIndex itemAvailabilityIndex,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${shareit.booking.intake.queue-capacity:10000}") int queueCapacity,
+                         @Value("${shareit.booking.intake.batch-size:100}") int batchSize,
+                         @Value("${shareit.booking.intake.handle-retention:10m}") Duration handleRetention) {
+        this.bookingRepository = bookingRepository;
+        this.bookingViewRepository = bookingViewRepository;
+        this.bookingIntakeResultRepository = bookingIntakeResultRepository;
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.itemAvailabilityIndex = itemAvailabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.handleRetention = handleRetention;
+    }
+
+    public BookingHandleDto submit(long bookerId, BookingDtoInput bookingDtoInput) {
+        startWriter();
+
+        PendingBooking pending = new PendingBooking(UUID.randomUUID().toString(), bookerId, bookingDtoInput);
+
+        handles.put(pending.handle, pending);
+
+        if (!queue.offer(pending)) {
+            handles.remove(pending.handle);
+            throw new ServiceOverloadedException("Очередь бронирований переполнена, повторите запрос позже");
+        }
+
+        return pending.toDto();
+    }
+
+    public Optional<BookingHandleDto> find(long bookerId, String handle) {
+        PendingBooking pending = handles.get(handle);
+
+        if (pending != null) {
+            return Optional.of(pending)
+                    .filter(found -> found.bookerId == bookerId)
+                    .map(PendingBooking::toDto);
+        }
+
+        return bookingIntakeResultRepository.findByHandleAndBookerId(handle, bookerId)
+                .map(BookingMapper::mapToBookingHandleDto);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread stoppedWriter;
+
+        synchronized (this) {
+            isRunning = false;
+            stoppedWriter = writer;
+        }
+
+        if (stoppedWriter != null) {
+            stoppedWriter.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+
+        isRunning = true;
+        writer = new Thread(this::runWriter, "booking-intake-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void runWriter() {
+        List<PendingBooking> group = new ArrayList<>(batchSize);
+
+        while (isRunning || !queue.isEmpty()) {
+            try {
+                PendingBooking first = queue.poll(1, TimeUnit.SECONDS);
+
+                if (first != null) {
+                    group.add(first);
+                    queue.drainTo(group, batchSize - 1);
+                    commitGroup(group);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Не удалось сохранить группу бронирований", e);
+                group.forEach(pending -> fail(pending, e.getMessage()));
+            } finally {
+                group.clear();
+            }
+
+            purgeExpiredHandles();
+        }
+    }
+
+    private void commitGroup(List<PendingBooking> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeGroup(group));
+            group.forEach(pending -> handles.remove(pending.handle));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                throw e;
+            }
+
+            log.warn("Группа из {} бронирований не сохранена, сохраняем по одному", group.size(), e);
+
+            for (PendingBooking pending : group) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeGroup(List.of(pending)));
+                    handles.remove(pending.handle);
+                } catch (RuntimeException ex) {
+                    fail(pending, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores a failure in a transaction of its own. If even that fails, the result stays in this
+     * instance until the retention runs out.
+     */
+    private void fail(PendingBooking pending, String error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingIntakeResultRepository
+                    .save(pending.toResult(null, error, LocalDateTime.now())));
+            handles.remove(pending.handle);
+        } catch (RuntimeException e) {
+            log.error("Не удалось сохранить результат заявки {}", pending.handle, e);
+            pending.complete(null, error);
+        }
+    }
+
+    private void writeGroup(List<PendingBooking> group) {
+        Set<Long> itemIds = group.stream()
+                .map(pending -> pending.input.getItemId())
+                .collect(Collectors.toSet());
+        LocalDateTime minStart = group.stream()
+                .map(pending -> pending.input.getStart())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime maxEnd = group.stream()
+                .map(pending -> pending.input.getEnd())
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        // the item may have been withdrawn while the booking waited in the queue
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedBookings = bookingRepository
+                .findAllOverlapping(itemIds, BookingApproval.APPROVED, minStart, maxEnd)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        List<PendingBooking> accepted = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+
+        for (PendingBooking pending : group) {
+            BookingDtoInput input = pending.input;
+            Item item = items.get(input.getItemId());
+
+            if (item == null || item.getOwner().getId() == pending.bookerId) {
+                pending.prepare(null, "Вещь с id " + input.getItemId() + " не найдена");
+                continue;
+            }
+
+            if (!item.getAvailable()) {
+                pending.prepare(null, "Вещь с id " + input.getItemId() + " недоступна к бронированию");
+                continue;
+            }
+
+            boolean isOverlapping = approvedBookings.getOrDefault(input.getItemId(), List.of())
+                    .stream()
+                    .anyMatch(booking -> booking.getStart().isBefore(input.getEnd())
+                            && booking.getEnd().isAfter(input.getStart()));
+
+            if (isOverlapping) {
+                pending.prepare(null, "Вещь с id " + input.getItemId() + " уже забронирована на этот период");
+                continue;
+            }
+
+            accepted.add(pending);
+            bookings.add(new Booking(0,
+                    input.getStart(),
+                    input.getEnd(),
+                    item,
+                    userRepository.getReferenceById(pending.bookerId),
+                    BookingApproval.WAITING));
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+
+        bookingViewRepository.saveAll(savedBookings.stream()
+                .map(BookingMapper::mapToBookingView)
+                .collect(Collectors.toList()));
+
+        for (int i = 0; i < savedBookings.size(); i++) {
+            Booking savedBooking = savedBookings.get(i);
+
+            accepted.get(i).prepare(savedBooking.getId(), null);
+            itemAvailabilityIndex.onBookingSaved(savedBooking);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        bookingIntakeResultRepository.saveAll(group.stream()
+                .map(pending -> pending.toResult(pending.preparedBookingId, pending.preparedError, now))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Results are polled for a short while after they are stored, so the ones older than the
+     * retention are removed in the background rather than by every group commit.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.intake.cleanup-interval:PT1M}")
+    public void deleteExpiredResults() {
+        int deleted = transactionTemplate.execute(status -> bookingIntakeResultRepository
+                .deleteAllCompletedBefore(LocalDateTime.now().minus(handleRetention)));
+
+        log.debug("Удалено {} устаревших результатов заявок на бронирование", deleted);
+    }
+
+    private void purgeExpiredHandles() {
+        long expiredBefore = System.nanoTime() - handleRetention.toNanos();
+
+        handles.values().removeIf(pending -> pending.result != null && pending.completedAt - expiredBefore < 0);
+    }
+
+    private static class PendingBooking {
+        private final String handle;
+        private final long bookerId;
+        private final BookingDtoInput input;
+        private Long preparedBookingId;
+        private String preparedError;
+        private volatile BookingHandleDto result;
+        private volatile long completedAt;
+
+        PendingBooking(String handle, long bookerId, BookingDtoInput input) {
+            this.handle = handle;
+            this.bookerId = bookerId;
+            this.input = input;
+        }
+
+        void prepare(Long bookingId, String error) {
+            preparedBookingId = bookingId;
+            preparedError = error;
+        }
+
+        void complete(Long bookingId, String error) {
+            result = new BookingHandleDto(handle, statusOf(bookingId), bookingId, error);
+            completedAt = System.nanoTime();
+        }
+
+        BookingIntakeResult toResult(Long bookingId, String error, LocalDateTime completedAt) {
+            String storedError = error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH)
+                    : error;
+
+            return new BookingIntakeResult(handle, bookerId, statusOf(bookingId), bookingId, storedError, completedAt);
+        }
+
+        private static BookingIntakeStatus statusOf(Long bookingId) {
+            return bookingId != null ? BookingIntakeStatus.CREATED : BookingIntakeStatus.FAILED;
+        }
+
+        BookingHandleDto toDto() {
+            BookingHandleDto completed = result;
+
+            return completed != null ? completed : new BookingHandleDto(handle, BookingIntakeStatus.QUEUED, null, null);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.IntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree of one item's bookings: a treap ordered by (start, bookingId)
+ * where every node also keeps the latest end of its subtree, so overlap queries
+ * skip whole subtrees that end before the requested window.
+ */
+class BookingIntervalTree {
+    private final Map<Long, LocalDateTime> starts = new HashMap<>();
+    private Node root;
+
+    synchronized void put(long bookingId, LocalDateTime start, LocalDateTime end) {
+        remove(bookingId);
+        starts.put(bookingId, start);
+        root = insert(root, new Node(bookingId, start, end));
+    }
+
+    synchronized void remove(long bookingId) {
+        LocalDateTime start = starts.remove(bookingId);
+
+        if (start != null) {
+            root = remove(root, bookingId, start);
+        }
+    }
+
+    /**
+     * Returns the intervals overlapping [from, to) ordered by start.
+     */
+    synchronized List<IntervalDto> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, List<IntervalDto> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+
+        collect(node.left, from, to, result);
+
+        if (!node.start.isBefore(to)) {
+            return;
+        }
+
+        if (node.end.isAfter(from)) {
+            result.add(new IntervalDto(node.start, node.end));
+        }
+
+        collect(node.right, from, to, result);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        if (compare(inserted.start, inserted.bookingId, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+
+        return update(node);
+    }
+
+    private Node remove(Node node, long bookingId, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(start, bookingId, node);
+
+        if (cmp < 0) {
+            node.left = remove(node.left, bookingId, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, bookingId, start);
+        } else {
+            return merge(node.left, node.right);
+        }
+
+        return update(node);
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = update(node);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = update(node);
+        return pivot;
+    }
+
+    private static Node update(Node node) {
+        LocalDateTime maxEnd = node.end;
+
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static int compare(LocalDateTime start, long bookingId, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : Long.compare(bookingId, node.bookingId);
+    }
+
+    private static class Node {
+        private final long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -3,14 +3,24 @@ package ru.practicum.shareit.booking.service;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDtoOutput create(long bookerId, BookingDtoInput bookingDtoInput);
 
+    BookingHandleDto enqueue(long bookerId, BookingDtoInput bookingDtoInput);
+
+    BookingHandleDto readIntake(long bookerId, String handle);
+
     BookingDtoOutput read(long userId, long id);
 
+    String readEtag(long userId, long id);
+
+    Collection<BookingDtoOutput> readAllByIds(long userId, List<Long> ids);
+
     Collection<BookingDtoOutput> readAllBookerBookings(long bookerId, String state, Pageable pageable);
 
     Collection<BookingDtoOutput> readAllOwnerItemBookings(long ownerId, String state, Pageable pageable);
@@ -1,16 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.etag.EntityTag;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -20,45 +26,63 @@ import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingViewRepository bookingViewRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final BookingIntake bookingIntake;
 
     @Override
     @Transactional
     public BookingDtoOutput create(long bookerId, BookingDtoInput bookingDtoInput) {
         User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(bookerId));
 
-        Item item = itemRepository.findById(bookingDtoInput.getItemId())
-                .orElseThrow(() -> new NotFoundException("Вещь с id " + bookingDtoInput.getItemId() + " не найдена"));
+        Item item = findBookableItem(bookerId, bookingDtoInput);
 
-        if (item.getOwner().getId() == bookerId) {
-            throw new NotFoundException("Владелец вещи не может забронировать свою же вещь");
-        }
+        Booking booking = BookingMapper.mapToBooking(bookingDtoInput, item, booker, BookingApproval.WAITING);
+        Booking savedBooking = bookingRepository.save(booking);
 
-        if (!item.getAvailable()) {
-            throw new ItemAvailabilityException("Вещь с id " + bookingDtoInput.getItemId()
-                    + " недоступна к бронированию");
-        }
+        bookingViewRepository.save(BookingMapper.mapToBookingView(savedBooking));
+        itemAvailabilityIndex.onBookingSaved(savedBooking);
 
-        Booking booking = BookingMapper.mapToBooking(bookingDtoInput, item, booker, BookingApproval.WAITING);
+        return BookingMapper.mapToBookingDtoOutput(savedBooking);
+    }
+
+    @Override
+    @Transactional
+    public BookingHandleDto enqueue(long bookerId, BookingDtoInput bookingDtoInput) {
+        userRepository.findById(bookerId)
+                .orElseThrow(() -> new UserNotFoundException(bookerId));
+
+        findBookableItem(bookerId, bookingDtoInput);
 
-        return BookingMapper.mapToBookingDtoOutput(bookingRepository.save(booking));
+        return bookingIntake.submit(bookerId, bookingDtoInput);
+    }
+
+    @Override
+    public BookingHandleDto readIntake(long bookerId, String handle) {
+        return bookingIntake.find(bookerId, handle)
+                .orElseThrow(() -> new NotFoundException("Заявка на бронирование " + handle + " не найдена"));
     }
 
     @Override
     @Transactional
     public BookingDtoOutput read(long userId, long id) {
         userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
-        Booking booking = bookingRepository.findById(id)
+        // item and booker come with the booking, the mapper needs both
+        Booking booking = bookingRepository.findWithItemAndBookerById(id)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id " + id + " не найдено"));
 
         long bookerId = booking.getBooker().getId();
@@ -71,116 +95,132 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.mapToBookingDtoOutput(booking);
     }
 
+    /**
+     * Null when the booking is missing or hidden from the user, so read answers with the 404.
+     */
+    @Override
+    public String readEtag(long userId, long id) {
+        return bookingViewRepository.findUpdatedAtVisibleTo(id, userId)
+                .map(EntityTag::of)
+                .orElse(null);
+    }
+
+    /**
+     * Same visibility as read, checked in the query: ids that are missing or belong to neither
+     * the booker nor the item owner are left out instead of failing the whole batch.
+     */
+    @Override
+    public Collection<BookingDtoOutput> readAllByIds(long userId, List<Long> ids) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        Map<Long, Booking> bookings = bookingRepository.findAllVisibleByIdIn(ids, userId)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        return ids.stream()
+                .distinct()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .map(BookingMapper::mapToBookingDtoOutput)
+                .collect(Collectors.toList());
+    }
+
     @Override
-    @Transactional
     public Collection<BookingDtoOutput> readAllBookerBookings(long bookerId, String state, Pageable pageable) {
         userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(bookerId));
+
+        Page<BookingView> bookings;
 
         switch (state) {
             case "CURRENT":
-                return bookingRepository.readAllBookerCurrentBookings(pageable, bookerId, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllBookerCurrentBookings(pageable, bookerId, LocalDateTime.now());
+                break;
             case "PAST":
-                return bookingRepository.readAllBookerPastBookings(pageable, bookerId, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllBookerPastBookings(pageable, bookerId, LocalDateTime.now());
+                break;
             case "FUTURE":
-                return bookingRepository.readAllBookerFutureBookings(pageable, bookerId, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllBookerFutureBookings(pageable, bookerId, LocalDateTime.now());
+                break;
             case "WAITING":
-                return bookingRepository
-                        .findAllByBooker_IdAndStatusInOrderByStartDesc(pageable, bookerId,
-                                List.of(BookingApproval.WAITING))
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByBookerIdAndStatusOrderByStartDesc(pageable, bookerId,
+                        BookingApproval.WAITING);
+                break;
             case "REJECTED":
-                return bookingRepository
-                        .findAllByBooker_IdAndStatusInOrderByStartDesc(pageable, bookerId,
-                                List.of(BookingApproval.REJECTED))
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByBookerIdAndStatusOrderByStartDesc(pageable, bookerId,
+                        BookingApproval.REJECTED);
+                break;
             default:
-                return bookingRepository.findAllByBooker_IdOrderByStartDesc(pageable, bookerId)
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByBookerIdOrderByStartDesc(pageable, bookerId);
         }
+
+        return bookings.getContent()
+                .stream()
+                .map(BookingMapper::mapToBookingDtoOutput)
+                .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional
     public Collection<BookingDtoOutput> readAllOwnerItemBookings(long ownerId, String state, Pageable pageable) {
         userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(ownerId));
 
-        List<Long> userItems = itemRepository.findAllByOwnerId(ownerId)
-                .stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
+        Page<BookingView> bookings;
 
         switch (state) {
             case "CURRENT":
-                return bookingRepository.readAllOwnerItemsCurrentBookings(pageable, userItems, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllOwnerCurrentBookings(pageable, ownerId, LocalDateTime.now());
+                break;
             case "PAST":
-                return bookingRepository.readAllOwnerItemsPastBookings(pageable, userItems, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllOwnerPastBookings(pageable, ownerId, LocalDateTime.now());
+                break;
             case "FUTURE":
-                return bookingRepository.readAllOwnerItemsFutureBookings(pageable, userItems, LocalDateTime.now())
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.readAllOwnerFutureBookings(pageable, ownerId, LocalDateTime.now());
+                break;
             case "WAITING":
-                return bookingRepository
-                        .findAllByItem_IdInAndStatusInOrderByStartDesc(pageable, userItems,
-                                List.of(BookingApproval.WAITING))
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByOwnerIdAndStatusOrderByStartDesc(pageable, ownerId,
+                        BookingApproval.WAITING);
+                break;
             case "REJECTED":
-                return bookingRepository
-                        .findAllByItem_IdInAndStatusInOrderByStartDesc(pageable, userItems,
-                                List.of(BookingApproval.REJECTED))
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByOwnerIdAndStatusOrderByStartDesc(pageable, ownerId,
+                        BookingApproval.REJECTED);
+                break;
             default:
-                return bookingRepository.findAllByItem_IdInOrderByStartDesc(pageable, userItems)
-                        .getContent()
-                        .stream()
-                        .map(BookingMapper::mapToBookingDtoOutput)
-                        .collect(Collectors.toList());
+                bookings = bookingViewRepository.findAllByOwnerIdOrderByStartDesc(pageable, ownerId);
         }
+
+        return bookings.getContent()
+                .stream()
+                .map(BookingMapper::mapToBookingDtoOutput)
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public BookingDtoOutput updateApproval(long ownerId, long id, Boolean isApproved) {
+        BookingApproval status = isApproved ? BookingApproval.APPROVED : BookingApproval.REJECTED;
+        LocalDateTime now = LocalDateTime.now();
+
+        if (bookingRepository.updateStatus(id, ownerId, status, now) == 0) {
+            throwApprovalFailure(ownerId, id);
+        }
+
+        BookingView booking = bookingViewRepository.updateStatus(id, status, now)
+                .orElseThrow(() -> new NotFoundException("Бронирование с id " + id + " не найдено"));
+
+        itemAvailabilityIndex.onBookingSaved(booking);
+
+        return BookingMapper.mapToBookingDtoOutput(booking);
+    }
+
+    /**
+     * Explains why the conditional status update touched no rows. Only runs on the failure path,
+     * so a successful approval is the two status UPDATEs, the view one returning the row it changed.
+     */
+    private void throwApprovalFailure(long ownerId, long id) {
         userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(ownerId));
 
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id " + id + " не найдено"));
@@ -190,16 +230,29 @@ public class BookingServiceImpl implements BookingService {
                     + " не может редактировать бронирование с id " + id);
         }
 
-        if (booking.getStatus().equals(BookingApproval.APPROVED)) {
-            throw new ItemAvailabilityException("Бронирование уже подтверждено");
+        throw new ItemAvailabilityException("Бронирование уже подтверждено");
+    }
+
+    private Item findBookableItem(long bookerId, BookingDtoInput bookingDtoInput) {
+        Item item = itemRepository.findById(bookingDtoInput.getItemId())
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + bookingDtoInput.getItemId() + " не найдена"));
+
+        if (item.getOwner().getId() == bookerId) {
+            throw new NotFoundException("Владелец вещи не может забронировать свою же вещь");
+        }
+
+        if (!item.getAvailable()) {
+            throw new ItemAvailabilityException("Вещь с id " + bookingDtoInput.getItemId()
+                    + " недоступна к бронированию");
         }
 
-        if (isApproved) {
-            booking.setStatus(BookingApproval.APPROVED);
-        } else {
-            booking.setStatus(BookingApproval.REJECTED);
+        // the intake writer applies the same rule again when the queued booking is stored
+        if (bookingRepository.existsOverlapping(item.getId(), BookingApproval.APPROVED,
+                bookingDtoInput.getStart(), bookingDtoInput.getEnd())) {
+            throw new ItemAvailabilityException("Вещь с id " + bookingDtoInput.getItemId()
+                    + " уже забронирована на этот период");
         }
 
-        return BookingMapper.mapToBookingDtoOutput(bookingRepository.save(booking));
+        return item;
     }
-}
\ No newline at end of file
+}
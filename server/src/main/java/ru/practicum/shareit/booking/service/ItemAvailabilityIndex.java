@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-item interval trees of WAITING and APPROVED bookings. A tree is loaded from the
+ * database on first use, kept in sync by BookingServiceImpl after each committed write
+ * and held by a soft reference, so the GC drops cold items under memory pressure.
+ * Every committed write also bumps a version stripe of its item. A tree whose load overlapped
+ * such a write serves the read that loaded it but is not cached, since it may miss that write.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityIndex {
+    private static final List<BookingApproval> BUSY_STATUSES = List.of(BookingApproval.WAITING,
+            BookingApproval.APPROVED);
+    private static final int VERSION_STRIPES = 1024;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, TreeReference> trees = new ConcurrentHashMap<>();
+    private final ReferenceQueue<BookingIntervalTree> collected = new ReferenceQueue<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public List<IntervalDto> findBusy(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> busy = new ArrayList<>();
+
+        for (IntervalDto interval : getTree(itemId).findOverlapping(from, to)) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            IntervalDto last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+
+            if (last != null && !start.isAfter(last.getEnd())) {
+                if (end.isAfter(last.getEnd())) {
+                    last.setEnd(end);
+                }
+            } else {
+                busy.add(new IntervalDto(start, end));
+            }
+        }
+
+        return busy;
+    }
+
+    public void onBookingSaved(Booking booking) {
+        onBookingSaved(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+
+    public void onBookingSaved(BookingView booking) {
+        onBookingSaved(booking.getItemId(), booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+                versions.incrementAndGet(stripe);
+            }
+
+            trees.clear();
+        });
+    }
+
+    private void onBookingSaved(long itemId, long bookingId, LocalDateTime start, LocalDateTime end,
+                                BookingApproval status) {
+        boolean isBusy = BUSY_STATUSES.contains(status);
+
+        afterCommit(() -> trees.compute(itemId, (id, reference) -> {
+            versions.incrementAndGet(stripe(id));
+
+            BookingIntervalTree tree = reference == null ? null : reference.get();
+
+            if (tree == null) {
+                return null;
+            }
+
+            if (isBusy) {
+                tree.put(bookingId, start, end);
+            } else {
+                tree.remove(bookingId);
+            }
+
+            return reference;
+        }));
+    }
+
+    /**
+     * The query runs outside of the map, so a slow load does not hold up writers to other items.
+     * The loaded tree is only cached if no write to the item committed since its version was read.
+     */
+    private BookingIntervalTree getTree(long itemId) {
+        purgeCollected();
+
+        TreeReference cached = trees.get(itemId);
+        BookingIntervalTree tree = cached == null ? null : cached.get();
+
+        if (tree != null) {
+            return tree;
+        }
+
+        long version = versions.get(stripe(itemId));
+        BookingIntervalTree loaded = load(itemId);
+        BookingIntervalTree[] result = {loaded};
+
+        trees.compute(itemId, (id, reference) -> {
+            BookingIntervalTree current = reference == null ? null : reference.get();
+
+            if (current != null) {
+                result[0] = current;
+                return reference;
+            }
+
+            return versions.get(stripe(id)) == version ? new TreeReference(id, loaded, collected) : null;
+        });
+
+        return result[0];
+    }
+
+    private BookingIntervalTree load(long itemId) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+
+        for (Booking booking : bookingRepository.findAllByItem_IdAndStatusIn(itemId, BUSY_STATUSES)) {
+            tree.put(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+
+        return tree;
+    }
+
+    private static int stripe(long itemId) {
+        return Long.hashCode(itemId) & (VERSION_STRIPES - 1);
+    }
+
+    private void purgeCollected() {
+        TreeReference reference;
+
+        while ((reference = (TreeReference) collected.poll()) != null) {
+            trees.remove(reference.itemId, reference);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class TreeReference extends SoftReference<BookingIntervalTree> {
+        private final long itemId;
+
+        TreeReference(long itemId, BookingIntervalTree tree, ReferenceQueue<BookingIntervalTree> queue) {
+            super(tree, queue);
+            this.itemId = itemId;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETags for the reads the gateway caches. Single resources and some lists get a version tag from
+ * their controller and answer If-None-Match without building the body. The filter stays as a fallback
+ * for search and the remaining lists: it hashes the rendered body and reuses a tag that is already set.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+
+        // Tomcat does not compress responses that carry a strong ETag
+        filter.setWriteWeakETag(true);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+
+        registration.addUrlPatterns("/items/*", "/requests/*", "/users/*");
+
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.fieldset.FieldSetFilter;
+
+/**
+ * Puts every bean behind the fields= filter id, so DTOs need no @JsonFilter. Without a fields=
+ * parameter no filter is registered under that id and beans are written in full.
+ */
+@Configuration
+public class FieldSetConfig {
+
+    @Bean
+    public Module fieldSetModule() {
+        return new SimpleModule("fieldSet") {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.insertAnnotationIntrospector(new NopAnnotationIntrospector() {
+                    @Override
+                    public Object findFilterId(Annotated annotated) {
+                        return annotated instanceof AnnotatedClass ? FieldSetFilter.ID : null;
+                    }
+                });
+            }
+        };
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSetFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
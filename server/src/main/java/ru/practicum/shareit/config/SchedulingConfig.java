@@ -0,0 +1,12 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs housekeeping such as the removal of expired booking intake results off the request path.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
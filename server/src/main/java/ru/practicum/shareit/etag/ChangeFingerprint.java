@@ -0,0 +1,13 @@
+package ru.practicum.shareit.etag;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and latest updated_at of a list. Adding, changing or deleting a row changes at
+ * least one of them.
+ */
+public interface ChangeFingerprint {
+    long getCount();
+
+    LocalDateTime getUpdatedAt();
+}
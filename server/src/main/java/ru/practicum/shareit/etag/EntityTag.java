@@ -0,0 +1,43 @@
+package ru.practicum.shareit.etag;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.StringJoiner;
+
+/**
+ * Builds ETags from what a representation is derived from: updated_at columns, counts and the
+ * caller's role. Controllers compare them with If-None-Match before any DTO is assembled.
+ * The tags are weak, because Tomcat does not compress responses that carry a strong ETag.
+ */
+@UtilityClass
+public class EntityTag {
+    public String of(Object... parts) {
+        StringJoiner tag = new StringJoiner("-", "W/\"", "\"");
+
+        for (Object part : parts) {
+            tag.add(format(part));
+        }
+
+        return tag.toString();
+    }
+
+    private String format(Object part) {
+        if (part == null) {
+            return "0";
+        }
+
+        if (part instanceof LocalDateTime) {
+            LocalDateTime time = (LocalDateTime) part;
+
+            return Long.toString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000);
+        }
+
+        if (part instanceof Boolean) {
+            return (Boolean) part ? "1" : "0";
+        }
+
+        return part.toString();
+    }
+}
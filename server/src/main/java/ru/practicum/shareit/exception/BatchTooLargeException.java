@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int maxSize) {
+        super("За один запрос можно получить не более " + maxSize + " записей");
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UserNotFoundException extends NotFoundException {
+    private final long userId;
+
+    public UserNotFoundException(long userId) {
+        super("Пользователь с id " + userId + " не найден");
+        this.userId = userId;
+    }
+}
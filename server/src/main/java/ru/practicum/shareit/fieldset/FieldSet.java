@@ -0,0 +1,50 @@
+package ru.practicum.shareit.fieldset;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a client asked for with fields=, as dot-separated paths such as item.id. A field is
+ * included when it was named, when it lies inside a named field, or when a named field lies
+ * inside it. An empty parameter selects everything.
+ */
+public class FieldSet {
+    public static final String PARAMETER = "fields";
+    public static final FieldSet ALL = new FieldSet(Set.of());
+
+    private final Set<String> paths;
+
+    private FieldSet(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    public static FieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        return new FieldSet(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    public boolean includes(String path) {
+        if (isAll() || paths.contains(path)) {
+            return true;
+        }
+
+        for (String requested : paths) {
+            if (path.startsWith(requested + ".") || requested.startsWith(path + ".")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
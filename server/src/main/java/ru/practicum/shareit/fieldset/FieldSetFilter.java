@@ -0,0 +1,44 @@
+package ru.practicum.shareit.fieldset;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+
+/**
+ * Writes only the properties a FieldSet includes. The path of a property is rebuilt from the
+ * generator's output context, so array elements share their parent's path and nested objects
+ * are filtered by the same set.
+ */
+public class FieldSetFilter extends SimpleBeanPropertyFilter {
+    public static final String ID = "fieldSet";
+
+    private final FieldSet fieldSet;
+
+    public FieldSetFilter(FieldSet fieldSet) {
+        this.fieldSet = fieldSet;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        if (fieldSet.includes(pathOf(gen.getOutputContext(), writer.getName()))) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    private static String pathOf(JsonStreamContext context, String name) {
+        StringBuilder path = new StringBuilder(name);
+
+        for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject() && parent.getCurrentName() != null) {
+                path.insert(0, '.').insert(0, parent.getCurrentName());
+            }
+        }
+
+        return path.toString();
+    }
+}
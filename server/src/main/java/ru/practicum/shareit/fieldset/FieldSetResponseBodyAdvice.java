@@ -0,0 +1,45 @@
+package ru.practicum.shareit.fieldset;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Applies fields= to collection responses. The filter is handed to the writer instead of being
+ * applied to a tree, so the response is still serialized in one pass.
+ */
+@RestControllerAdvice
+public class FieldSetResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType)
+                && Collection.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return;
+        }
+
+        FieldSet fieldSet = FieldSet.parse(((ServletServerHttpRequest) request).getServletRequest()
+                .getParameter(FieldSet.PARAMETER));
+
+        if (!fieldSet.isAll()) {
+            bodyContainer.setFilters(new SimpleFilterProvider()
+                    .addFilter(FieldSetFilter.ID, new FieldSetFilter(fieldSet)));
+        }
+    }
+}
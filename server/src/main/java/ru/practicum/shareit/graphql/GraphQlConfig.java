@@ -0,0 +1,133 @@
+package ru.practicum.shareit.graphql;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Limits and wiring of the GraphQL read API. A query is rejected before execution when it is
+ * nested deeper than max-depth or costs more than max-cost, where every field costs one and a
+ * list multiplies the cost of its elements by its size or last argument. Every list field of the
+ * schema has one with a default, so the estimate bounds what the resolvers load; default-list-size
+ * only covers a list field added without it.
+ */
+@Configuration
+public class GraphQlConfig {
+    public static final String USER_ID = "userId";
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Bean
+    public Instrumentation maxQueryDepthInstrumentation(@Value("${shareit.graphql.max-depth:8}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public Instrumentation maxQueryCostInstrumentation(
+            @Value("${shareit.graphql.max-cost:1000}") int maxCost,
+            @Value("${shareit.graphql.default-list-size:10}") int defaultListSize) {
+        return new MaxQueryComplexityInstrumentation(maxCost, (environment, childComplexity) -> {
+            GraphQLType type = GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType());
+
+            if (!GraphQLTypeUtil.isList(type)) {
+                return 1 + childComplexity;
+            }
+
+            Object size = environment.getArguments().getOrDefault("size", environment.getArguments().get("last"));
+            int elements = size instanceof Integer ? Math.max((Integer) size, 1) : defaultListSize;
+
+            return 1 + childComplexity * elements;
+        });
+    }
+
+    @Bean
+    public RuntimeWiringConfigurer dateTimeScalarConfigurer() {
+        return wiring -> wiring.scalar(GraphQLScalarType.newScalar()
+                .name("DateTime")
+                .description("Local date and time, formatted as in the REST API")
+                .coercing(new DateTimeCoercing())
+                .build());
+    }
+
+    /**
+     * Puts the caller into the GraphQL context, where resolvers read it with @ContextValue.
+     */
+    @Bean
+    public WebGraphQlInterceptor sharerUserInterceptor() {
+        return (request, chain) -> {
+            String userId = request.getHeaders().getFirst(USER_HEADER);
+
+            if (userId != null) {
+                long id;
+
+                try {
+                    id = Long.parseLong(userId);
+                } catch (NumberFormatException e) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            USER_HEADER + " должен быть числом"));
+                }
+
+                request.configureExecutionInput((input, builder) -> builder
+                        .graphQLContext(context -> context.of(USER_ID, id))
+                        .build());
+            }
+
+            return chain.next(request);
+        };
+    }
+
+    private static class DateTimeCoercing implements Coercing<LocalDateTime, String> {
+
+        @Override
+        public String serialize(Object value) {
+            if (!(value instanceof LocalDateTime)) {
+                throw new CoercingSerializeException("Expected LocalDateTime but was " + value);
+            }
+
+            return DATE_TIME_FORMAT.format((LocalDateTime) value);
+        }
+
+        @Override
+        public LocalDateTime parseValue(Object input) {
+            try {
+                return LocalDateTime.parse(String.valueOf(input));
+            } catch (DateTimeParseException e) {
+                throw new CoercingParseValueException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public LocalDateTime parseLiteral(Object input) {
+            if (!(input instanceof StringValue)) {
+                throw new CoercingParseLiteralException("Expected a string literal");
+            }
+
+            try {
+                return LocalDateTime.parse(((StringValue) input).getValue());
+            } catch (DateTimeParseException e) {
+                throw new CoercingParseLiteralException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.graphql;
+
+import lombok.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Request-scoped batch loaders behind the GraphQL resolvers. Each loader turns all keys asked
+ * for at one level of a query into a single IN query, so the number of statements depends on
+ * the shape of the query and not on the number of objects in the result.
+ */
+@Configuration
+public class GraphQlDataLoaderConfig {
+    public static final String ITEM_COMMENTS = "itemComments";
+    public static final String ITEM_APPROVED_BOOKINGS = "itemApprovedBookings";
+    public static final String REQUEST_ITEMS = "requestItems";
+
+    public GraphQlDataLoaderConfig(BatchLoaderRegistry registry,
+                                   UserRepository userRepository,
+                                   ItemRepository itemRepository,
+                                   BookingRepository bookingRepository,
+                                   CommentRepository commentRepository,
+                                   ItemRequestRepository itemRequestRepository) {
+        registry.forTypePair(Long.class, User.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromSupplier(() -> userRepository
+                        .findAllById(ids)
+                        .stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()))));
+
+        registry.forTypePair(Long.class, Item.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromSupplier(() -> itemRepository
+                        .findAllById(ids)
+                        .stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()))));
+
+        registry.forTypePair(Long.class, ItemRequest.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromSupplier(() -> itemRequestRepository
+                        .findAllById(ids)
+                        .stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()))));
+
+        registry.<LimitedListKey, List<Comment>>forName(ITEM_COMMENTS)
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromSupplier(() ->
+                        loadLimited(keys, commentRepository::findLatestByItemIdIn,
+                                comment -> comment.getItem().getId())));
+
+        registry.<Long, List<Booking>>forName(ITEM_APPROVED_BOOKINGS)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromSupplier(() -> bookingRepository
+                        .findAllByItem_IdInAndStatus(ids, BookingApproval.APPROVED)
+                        .stream()
+                        .collect(Collectors.groupingBy(booking -> booking.getItem().getId()))));
+
+        registry.<LimitedListKey, List<Item>>forName(REQUEST_ITEMS)
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromSupplier(() ->
+                        loadLimited(keys, itemRepository::findFirstByItemRequestIdIn,
+                                item -> item.getItemRequest().getId())));
+    }
+
+    /**
+     * One windowed query per distinct limit; a query usually asks for a single one.
+     */
+    private static <T> Map<LimitedListKey, List<T>> loadLimited(Set<LimitedListKey> keys,
+                                                                BiFunction<Set<Long>, Integer, List<T>> query,
+                                                                Function<T, Long> ownerIdOf) {
+        Map<Integer, Set<Long>> idsByLimit = keys.stream()
+                .collect(Collectors.groupingBy(LimitedListKey::getLimit,
+                        Collectors.mapping(LimitedListKey::getId, Collectors.toSet())));
+
+        return idsByLimit.entrySet()
+                .stream()
+                .flatMap(entry -> query.apply(entry.getValue(), entry.getKey())
+                        .stream()
+                        .map(value -> Map.entry(new LimitedListKey(ownerIdOf.apply(value), entry.getKey()), value)))
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+    }
+
+    /**
+     * Lists are loaded per parent id and per requested count, since two fields of one query may
+     * ask for different counts.
+     */
+    @Value
+    public static class LimitedListKey {
+        long id;
+        int limit;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.graphql;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+
+/**
+ * Reports the service's exceptions as GraphQL errors with the same messages the REST API uses.
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable e, DataFetchingEnvironment environment) {
+        ErrorType errorType;
+
+        if (e instanceof NotFoundException) {
+            errorType = ErrorType.NOT_FOUND;
+        } else if (e instanceof IllegalArgumentException) {
+            errorType = ErrorType.BAD_REQUEST;
+        } else {
+            return null;
+        }
+
+        return GraphqlErrorBuilder.newError(environment)
+                .errorType(errorType)
+                .message(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.graphql;
+
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves the relations between GraphQL types through the batch loaders of
+ * GraphQlDataLoaderConfig. Only ids are read from the source entity, so lazy associations are
+ * never initialized one by one.
+ */
+@Controller
+public class GraphQlModelController {
+
+    @SchemaMapping(typeName = "Item")
+    public CompletableFuture<User> owner(Item item, DataLoader<Long, User> users) {
+        return users.load(item.getOwner().getId());
+    }
+
+    @SchemaMapping(typeName = "Item")
+    public CompletableFuture<ItemRequest> request(Item item, DataLoader<Long, ItemRequest> requests) {
+        if (item.getItemRequest() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return requests.load(item.getItemRequest().getId());
+    }
+
+    @SchemaMapping(typeName = "Item")
+    public CompletableFuture<Booking> lastBooking(Item item, @ContextValue(name = GraphQlConfig.USER_ID) long userId,
+                                                  DataFetchingEnvironment environment) {
+        if (item.getOwner().getId() != userId) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        return loadList(environment, GraphQlDataLoaderConfig.ITEM_APPROVED_BOOKINGS, item.getId(), Booking.class)
+                .thenApply(bookings -> bookings.stream()
+                        .filter(booking -> booking.getStart().isBefore(now))
+                        .max(Comparator.comparing(Booking::getEnd))
+                        .orElse(null));
+    }
+
+    @SchemaMapping(typeName = "Item")
+    public CompletableFuture<Booking> nextBooking(Item item, @ContextValue(name = GraphQlConfig.USER_ID) long userId,
+                                                  DataFetchingEnvironment environment) {
+        if (item.getOwner().getId() != userId) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        return loadList(environment, GraphQlDataLoaderConfig.ITEM_APPROVED_BOOKINGS, item.getId(), Booking.class)
+                .thenApply(bookings -> bookings.stream()
+                        .filter(booking -> booking.getStart().isAfter(now))
+                        .min(Comparator.comparing(Booking::getStart))
+                        .orElse(null));
+    }
+
+    @SchemaMapping(typeName = "Item")
+    public CompletableFuture<List<Comment>> comments(Item item, @Argument int last,
+                                                     DataFetchingEnvironment environment) {
+        return loadLimitedList(environment, GraphQlDataLoaderConfig.ITEM_COMMENTS, item.getId(), last);
+    }
+
+    @SchemaMapping(typeName = "Booking")
+    public CompletableFuture<Item> item(Booking booking, DataLoader<Long, Item> items) {
+        return items.load(booking.getItem().getId());
+    }
+
+    @SchemaMapping(typeName = "Booking")
+    public CompletableFuture<User> booker(Booking booking, DataLoader<Long, User> users) {
+        return users.load(booking.getBooker().getId());
+    }
+
+    @SchemaMapping(typeName = "Comment")
+    public CompletableFuture<User> author(Comment comment, DataLoader<Long, User> users) {
+        return users.load(comment.getAuthor().getId());
+    }
+
+    @SchemaMapping(typeName = "ItemRequest")
+    public CompletableFuture<User> requestor(ItemRequest itemRequest, DataLoader<Long, User> users) {
+        return users.load(itemRequest.getRequestor().getId());
+    }
+
+    @SchemaMapping(typeName = "ItemRequest")
+    public CompletableFuture<List<Item>> items(ItemRequest itemRequest, @Argument int size,
+                                               DataFetchingEnvironment environment) {
+        return loadLimitedList(environment, GraphQlDataLoaderConfig.REQUEST_ITEMS, itemRequest.getId(), size);
+    }
+
+    private static <T> CompletableFuture<List<T>> loadList(DataFetchingEnvironment environment, String loaderName,
+                                                           long id, Class<T> elementType) {
+        DataLoader<Long, List<T>> loader = environment.getDataLoader(loaderName);
+
+        return loader.load(id)
+                .thenApply(values -> values == null ? List.of() : values);
+    }
+
+    private static <T> CompletableFuture<List<T>> loadLimitedList(DataFetchingEnvironment environment,
+                                                                  String loaderName, long id, int limit) {
+        if (limit < 1) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        DataLoader<GraphQlDataLoaderConfig.LimitedListKey, List<T>> loader = environment.getDataLoader(loaderName);
+
+        return loader.load(new GraphQlDataLoaderConfig.LimitedListKey(id, limit))
+                .thenApply(values -> values == null ? List.of() : values);
+    }
+}
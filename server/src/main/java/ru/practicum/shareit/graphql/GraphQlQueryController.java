@@ -0,0 +1,122 @@
+package ru.practicum.shareit.graphql;
+
+import lombok.RequiredArgsConstructor;
+import org.dataloader.DataLoader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Root fields of the GraphQL schema. They apply the same checks as the REST endpoints: the
+ * caller must exist, and a booking is visible only to its booker and the item owner.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GraphQlQueryController {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @QueryMapping
+    public User me(@ContextValue(name = GraphQlConfig.USER_ID) long userId) {
+        return findUser(userId);
+    }
+
+    @QueryMapping
+    public CompletableFuture<User> user(@ContextValue(name = GraphQlConfig.USER_ID) long userId, @Argument long id,
+                                        DataLoader<Long, User> users) {
+        findUser(userId);
+
+        return users.load(id);
+    }
+
+    @QueryMapping
+    public Item item(@ContextValue(name = GraphQlConfig.USER_ID) long userId, @Argument long id) {
+        findUser(userId);
+
+        return itemRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Вещь с id " + id + " не найдена"));
+    }
+
+    @QueryMapping
+    public List<Item> myItems(@ContextValue(name = GraphQlConfig.USER_ID) long userId,
+                              @Argument int from, @Argument int size) {
+        findUser(userId);
+
+        return itemRepository.findAllByOwnerId(userId, toPageable(from, size, Sort.by("id")))
+                .getContent();
+    }
+
+    @QueryMapping
+    public List<Item> searchItems(@Argument String text, @Argument int from, @Argument int size) {
+        Pageable pageable = toPageable(from, size, Sort.unsorted());
+
+        if (text.isBlank()) {
+            return List.of();
+        }
+
+        return itemRepository.search(text, pageable)
+                .getContent();
+    }
+
+    @QueryMapping
+    public Booking booking(@ContextValue(name = GraphQlConfig.USER_ID) long userId, @Argument long id) {
+        findUser(userId);
+
+        return bookingRepository.findAllVisibleByIdIn(List.of(id), userId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Бронирование с id " + id
+                        + " не найдено для пользователя с id " + userId));
+    }
+
+    @QueryMapping
+    public List<Booking> myBookings(@ContextValue(name = GraphQlConfig.USER_ID) long userId,
+                                    @Argument int from, @Argument int size) {
+        findUser(userId);
+
+        return bookingRepository.findAllByBooker_IdOrderByStartDesc(toPageable(from, size, Sort.unsorted()), userId)
+                .getContent();
+    }
+
+    @QueryMapping
+    public List<ItemRequest> myRequests(@ContextValue(name = GraphQlConfig.USER_ID) long userId,
+                                        @Argument int from, @Argument int size) {
+        findUser(userId);
+
+        return itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId,
+                        toPageable(from, size, Sort.unsorted()))
+                .getContent();
+    }
+
+    private User findUser(long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    private static Pageable toPageable(int from, int size, Sort sort) {
+        if (from < 0 || size < 1) {
+            throw new IllegalArgumentException("from must not be negative and size must be positive");
+        }
+
+        return PageRequest.of(from / size, size, sort);
+    }
+}
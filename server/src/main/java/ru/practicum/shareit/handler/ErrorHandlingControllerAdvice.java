@@ -1,15 +1,31 @@
 package ru.practicum.shareit.handler;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ServiceOverloadedException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 
 @RestControllerAdvice
 public class ErrorHandlingControllerAdvice {
+    private static final String UNKNOWN_USER_HEADER = "X-Unknown-User-Id";
+
+    /**
+     * Names the missing user in a header, so the gateway can answer later requests from it
+     * without calling the server.
+     */
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Violation> handleUserNotFoundException(UserNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .header(UNKNOWN_USER_HEADER, String.valueOf(e.getUserId()))
+                .body(new Violation(e.getMessage()));
+    }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -29,6 +45,18 @@ public class ErrorHandlingControllerAdvice {
         return new Violation(e.getMessage());
     }
 
+    @ExceptionHandler(BatchTooLargeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Violation handleBatchTooLargeException(BatchTooLargeException e) {
+        return new Violation(e.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Violation handleServiceOverloadedException(ServiceOverloadedException e) {
+        return new Violation(e.getMessage());
+    }
+
     @ExceptionHandler(Throwable.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Violation handleAnyException(Throwable e) {
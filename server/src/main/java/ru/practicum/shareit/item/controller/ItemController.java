@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.exception.BatchTooLargeException;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -15,6 +22,9 @@ import java.util.Collection;
 public class ItemController {
     private final ItemService itemService;
 
+    @Value("${shareit.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
     public ItemDtoWithRequestId create(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                        @RequestBody ItemDtoInput itemDtoInput) {
@@ -23,18 +33,34 @@ public class ItemController {
 
     @GetMapping("/{id}")
     public ItemDtoWithComments read(@RequestHeader("X-Sharer-User-Id") long userId,
-                                    @PathVariable long id) {
+                                    @PathVariable long id,
+                                    WebRequest request) {
+        if (request.checkNotModified(itemService.readEtag(userId, id))) {
+            return null;
+        }
+
         return itemService.read(userId, id);
     }
 
+    @GetMapping(params = "ids")
+    public Collection<ItemDtoWithComments> readAllByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return itemService.readAllByIds(userId, ids);
+    }
+
     @GetMapping
     public Collection<ItemDtoWithComments> readAll(@RequestHeader("X-Sharer-User-Id") long ownerId,
                                                    @RequestParam(defaultValue = "0") Integer from,
-                                                   @RequestParam(defaultValue = "10") Integer size) {
+                                                   @RequestParam(defaultValue = "10") Integer size,
+                                                   @RequestParam(defaultValue = "") String fields) {
 
         Pageable pageable = PageRequest.of(from / size, size);
 
-        return itemService.readAll(ownerId, pageable);
+        return itemService.readAll(ownerId, pageable, FieldSet.parse(fields));
     }
 
     @PatchMapping("/{id}")
@@ -45,11 +71,19 @@ public class ItemController {
 
     @GetMapping("/search")
     public Collection<ItemDtoOutput> search(@RequestParam String text,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                             @RequestParam(defaultValue = "0") Integer from,
                                             @RequestParam(defaultValue = "10") Integer size) {
         Pageable pageable = PageRequest.of(from / size, size);
 
-        return itemService.search(text, pageable);
+        if (start == null && end == null) {
+            return itemService.search(text, pageable);
+        }
+
+        return itemService.searchAvailable(text, start, end, pageable);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -58,4 +92,14 @@ public class ItemController {
         return itemService.createComment(authorId, commentDto, itemId);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto readAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @PathVariable long id,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime to) {
+        return itemService.readAvailability(userId, id, from, to);
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import ru.practicum.shareit.sync.model.ChangeTracked;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
-public class Comment {
+public class Comment extends ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
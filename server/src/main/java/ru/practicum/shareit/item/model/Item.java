@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.model;
 
 import lombok.*;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.sync.model.ChangeTracked;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -13,7 +14,7 @@ import javax.persistence.*;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-public class Item {
+public class Item extends ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -1,12 +1,47 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(long itemId);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN ?1 ORDER BY c.id")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
+    /**
+     * The newest comments of each item, at most limit per item, newest first. HQL has no window
+     * functions, hence native SQL.
+     */
+    @Query(value = "SELECT c.id, c.text, c.created, c.item_id, c.author_id, c.updated_at FROM (" +
+            "SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS item_rank " +
+            "FROM comments c " +
+            "WHERE c.item_id IN ?1) c " +
+            "WHERE c.item_rank <= ?2 " +
+            "ORDER BY c.item_id, c.item_rank", nativeQuery = true)
+    List<Comment> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
+
+    /**
+     * Starts from the owner's items, so each of them is one range scan of (item_id, updated_at)
+     * instead of a scan over every comment changed since then.
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author " +
+            "WHERE c.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?1) " +
+            "AND c.updatedAt >= ?2")
+    List<Comment> findAllOnOwnerItemsChangedSince(long ownerId, LocalDateTime since);
+
+    /**
+     * Comments carry their author's name, so renaming the author changes them.
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.updatedAt = ?2 WHERE c.author.id = ?1")
+    int touchAllByAuthor(long authorId, LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -5,22 +5,84 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     Page<Item> findAllByOwnerId(long ownerId, Pageable pageable);
 
     List<Item> findAllByOwnerId(long ownerId);
 
+    List<Item> findAllByOwnerIdAndUpdatedAtGreaterThanEqual(long ownerId, LocalDateTime since);
+
+    /**
+     * Everything an item read depends on. The count of started bookings changes whenever time
+     * moves a booking from next to last.
+     */
+    @Query("SELECT i.updatedAt AS updatedAt, i.owner.id AS ownerId, " +
+            "(SELECT COUNT(b) FROM Booking b WHERE b.item.id = i.id AND b.status = ?3) AS bookingCount, " +
+            "(SELECT COUNT(b) FROM Booking b WHERE b.item.id = i.id AND b.status = ?3 AND b.start < ?4) " +
+            "AS startedBookingCount, " +
+            "(SELECT MAX(b.updatedAt) FROM Booking b WHERE b.item.id = i.id AND b.status = ?3) AS bookingsUpdatedAt, " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.item.id = i.id) AS commentCount, " +
+            "(SELECT MAX(c.updatedAt) FROM Comment c WHERE c.item.id = i.id) AS commentsUpdatedAt " +
+            "FROM Item i " +
+            "WHERE i.id = ?1 " +
+            "AND EXISTS (SELECT u.id FROM User u WHERE u.id = ?2)")
+    Optional<ItemFingerprint> findFingerprint(long id, long userId, BookingApproval status, LocalDateTime now);
+
+    interface ItemFingerprint {
+        LocalDateTime getUpdatedAt();
+
+        long getOwnerId();
+
+        long getBookingCount();
+
+        long getStartedBookingCount();
+
+        LocalDateTime getBookingsUpdatedAt();
+
+        long getCommentCount();
+
+        LocalDateTime getCommentsUpdatedAt();
+    }
+
     List<Item> findAllByItemRequestId(long itemRequestId);
 
     List<Item> findAllByItemRequestIdIn(List<Long> requestIds);
 
+    /**
+     * The first items answering each request, at most limit per request, in id order. HQL has no
+     * window functions, hence native SQL.
+     */
+    @Query(value = "SELECT i.id, i.name, i.description, i.is_available, i.owner_id, i.request_id FROM (" +
+            "SELECT i.*, ROW_NUMBER() OVER (PARTITION BY i.request_id ORDER BY i.id) AS request_rank " +
+            "FROM items i " +
+            "WHERE i.request_id IN ?1) i " +
+            "WHERE i.request_rank <= ?2 " +
+            "ORDER BY i.request_id, i.request_rank", nativeQuery = true)
+    List<Item> findFirstByItemRequestIdIn(Collection<Long> requestIds, int limit);
+
     @Query("SELECT i FROM Item i " +
-            "WHERE upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))")
+            "WHERE i.available = TRUE " +
+            "AND (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%')))")
     Page<Item> search(String text, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = TRUE " +
+            "AND (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))) " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "WHERE b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingApproval.APPROVED " +
+            "AND b.start < ?3 " +
+            "AND b.end > ?2)")
+    Page<Item> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Optional;
+
+public interface ItemRepositoryCustom {
+    /**
+     * Updates the non-null fields of the item owned by ownerId in one statement and returns
+     * the updated item, so empty means the item is missing or belongs to someone else.
+     */
+    Optional<Item> update(long id, long ownerId, String name, String description, Boolean available);
+}
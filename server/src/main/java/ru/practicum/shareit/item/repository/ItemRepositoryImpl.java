@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.repository.ReturningUpdate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Item> update(long id, long ownerId, String name, String description, Boolean available) {
+        // native updates skip @PreUpdate; always having a SET also returns the row when nothing is patched
+        StringBuilder update = new StringBuilder("UPDATE items SET updated_at = ?1");
+        List<Object> parameters = new ArrayList<>(List.of(LocalDateTime.now()));
+
+        if (name != null) {
+            parameters.add(name);
+            update.append(", name = ?").append(parameters.size());
+        }
+
+        if (description != null) {
+            parameters.add(description);
+            update.append(", description = ?").append(parameters.size());
+        }
+
+        if (available != null) {
+            parameters.add(available);
+            update.append(", is_available = ?").append(parameters.size());
+        }
+
+        parameters.add(id);
+        update.append(" WHERE id = ?").append(parameters.size());
+        parameters.add(ownerId);
+        update.append(" AND owner_id = ?").append(parameters.size());
+
+        return ReturningUpdate.execute(entityManager, Item.class, id, update.toString(), parameters);
+    }
+}
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDtoWithRequestId create(long ownerId, ItemDtoInput itemDtoInput);
 
     ItemDtoWithComments read(long userId, long id);
 
-    Collection<ItemDtoWithComments> readAll(long ownerId, Pageable pageable);
+    String readEtag(long userId, long id);
+
+    Collection<ItemDtoWithComments> readAll(long ownerId, Pageable pageable, FieldSet fields);
+
+    Collection<ItemDtoWithComments> readAllByIds(long userId, List<Long> ids);
 
     ItemDtoWithRequestId update(long ownerId, ItemDtoInput itemDto, long id);
 
     Collection<ItemDtoOutput> search(String text, Pageable pageable);
 
+    Collection<ItemDtoOutput> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
     CommentDto createComment(long authorId, CommentDto commentDto, long itemId);
+
+    ItemAvailabilityDto readAvailability(long userId, long id, LocalDateTime from, LocalDateTime to);
 }
\ No newline at end of file
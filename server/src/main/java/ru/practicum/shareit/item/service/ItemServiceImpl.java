@@ -3,14 +3,19 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.dto.BookingDtoForOwner;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
+import ru.practicum.shareit.etag.EntityTag;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -18,6 +23,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.loader.EntityLoader;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -25,9 +31,12 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,83 +45,107 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingViewRepository bookingViewRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final EntityLoader entityLoader;
 
     @Override
+    @Transactional
     public ItemDtoWithRequestId create(long ownerId, ItemDtoInput itemDtoInput) {
         User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(ownerId));
 
         ItemRequest itemRequest = itemRequestRepository.findById(itemDtoInput.getRequestId())
                 .orElse(null);
 
-        Item item = ItemMapper.mapToItem(itemDtoInput, owner, itemRequest);
+        Item item = itemRepository.save(ItemMapper.mapToItem(itemDtoInput, owner, itemRequest));
+
+        if (itemRequest != null) {
+            itemRequestRepository.touch(itemRequest.getId(), item.getUpdatedAt());
+        }
 
-        return ItemMapper.mapToItemDtoWithRequestId(itemRepository.save(item), getRequestId(item));
+        return ItemMapper.mapToItemDtoWithRequestId(item, getRequestId(item));
     }
 
     @Override
     @Transactional
     public ItemDtoWithComments read(long userId, long id) {
         userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + id + " не найдена"));
 
-        BookingDtoForOwner lastBooking = null;
-        BookingDtoForOwner nextBooking = null;
-        long ownerId = item.getOwner().getId();
-
-        if (ownerId == userId) {
-            lastBooking = BookingMapper.maptoBookingDtoForOwner(findLastBooking(id));
-            nextBooking = BookingMapper.maptoBookingDtoForOwner(findNextBooking(id));
-        }
-
-        List<CommentDto> comments = findComments(id);
+        return mapToItemDtosWithComments(List.of(item), userId, FieldSet.ALL).get(0);
+    }
 
-        return ItemMapper.mapToItemDtoWithComments(item, lastBooking, nextBooking, comments);
+    /**
+     * Null when the user or the item is missing, so read answers with the 404.
+     */
+    @Override
+    public String readEtag(long userId, long id) {
+        return itemRepository.findFingerprint(id, userId, BookingApproval.APPROVED, LocalDateTime.now())
+                .map(item -> EntityTag.of(item.getUpdatedAt(),
+                        item.getOwnerId() == userId,
+                        item.getBookingCount(),
+                        item.getStartedBookingCount(),
+                        item.getBookingsUpdatedAt(),
+                        item.getCommentCount(),
+                        item.getCommentsUpdatedAt()))
+                .orElse(null);
     }
 
     @Override
-    public Collection<ItemDtoWithComments> readAll(long ownerId, Pageable pageable) {
+    public Collection<ItemDtoWithComments> readAll(long ownerId, Pageable pageable, FieldSet fields) {
         userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(ownerId));
 
-        return itemRepository.findAllByOwnerId(ownerId, pageable)
-                .getContent()
+        List<Item> items = itemRepository.findAllByOwnerId(ownerId, pageable)
+                .getContent();
+
+        return mapToItemDtosWithComments(items, ownerId, fields)
                 .stream()
-                .map(item -> ItemMapper.mapToItemDtoWithComments(item,
-                        BookingMapper.maptoBookingDtoForOwner(findLastBooking(item.getId())),
-                        BookingMapper.maptoBookingDtoForOwner(findNextBooking(item.getId())),
-                        findComments(item.getId())))
                 .sorted(Comparator.comparingLong(ItemDtoWithComments::getId))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Same visibility as read. Missing ids are left out.
+     */
     @Override
-    public ItemDtoWithRequestId update(long ownerId, ItemDtoInput itemDtoInput, long id) {
-        Item updatedItem = itemRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Вещь с id " + id + " не найдена"));
+    @Transactional
+    public Collection<ItemDtoWithComments> readAllByIds(long userId, List<Long> ids) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
-        if (updatedItem.getOwner().getId() != ownerId) {
-            throw new AccessDeniedException("Нет прав для редактирования вещи");
-        }
+        Map<Long, Item> items = entityLoader.loadItems(ids);
 
-        if (itemDtoInput.getName() != null) {
-            updatedItem.setName(itemDtoInput.getName());
-        }
+        return mapToItemDtosWithComments(ids.stream()
+                .distinct()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()), userId, FieldSet.ALL);
+    }
 
-        if (itemDtoInput.getDescription() != null) {
-            updatedItem.setDescription(itemDtoInput.getDescription());
-        }
+    @Override
+    @Transactional
+    public ItemDtoWithRequestId update(long ownerId, ItemDtoInput itemDtoInput, long id) {
+        Item updatedItem = itemRepository.update(id, ownerId, itemDtoInput.getName(),
+                        itemDtoInput.getDescription(), itemDtoInput.getAvailable())
+                .orElseThrow(() -> itemRepository.existsById(id)
+                        ? new AccessDeniedException("Нет прав для редактирования вещи")
+                        : new NotFoundException("Вещь с id " + id + " не найдена"));
+
+        bookingViewRepository.updateItem(id, updatedItem.getName(), updatedItem.getDescription(),
+                updatedItem.getAvailable(), updatedItem.getUpdatedAt());
 
-        if (itemDtoInput.getAvailable() != null) {
-            updatedItem.setAvailable(itemDtoInput.getAvailable());
+        if (updatedItem.getItemRequest() != null) {
+            itemRequestRepository.touch(getRequestId(updatedItem), updatedItem.getUpdatedAt());
         }
 
-        return ItemMapper.mapToItemDtoWithRequestId(itemRepository.save(updatedItem), getRequestId(updatedItem));
+        return ItemMapper.mapToItemDtoWithRequestId(updatedItem, getRequestId(updatedItem));
     }
 
     @Override
@@ -120,7 +153,24 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.search(text, pageable)
                 .getContent()
                 .stream()
-                .filter(Item::getAvailable)
+                .map(item -> ItemMapper.mapToItemDtoOutput(item, null, null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<ItemDtoOutput> searchAvailable(String text, LocalDateTime start, LocalDateTime end,
+                                                     Pageable pageable) {
+        if (start == null || end == null) {
+            throw new ItemAvailabilityException("Необходимо указать и начало, и конец периода");
+        }
+
+        if (!end.isAfter(start)) {
+            throw new ItemAvailabilityException("Конец периода должен быть позже его начала");
+        }
+
+        return itemRepository.searchAvailable(text, start, end, pageable)
+                .getContent()
+                .stream()
                 .map(item -> ItemMapper.mapToItemDtoOutput(item, null, null))
                 .collect(Collectors.toList());
     }
@@ -129,7 +179,7 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public CommentDto createComment(long authorId, CommentDto commentDto, long itemId) {
         User author = userRepository.findById(authorId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + authorId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(authorId));
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
@@ -159,30 +209,84 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.mapToCommentDto(commentRepository.save(comment));
     }
 
-    private Booking findLastBooking(long itemId) {
-        List<Booking> itemBookings = bookingRepository.findAllByItem_Id(itemId);
+    @Override
+    public ItemAvailabilityDto readAvailability(long userId, long id, LocalDateTime from, LocalDateTime to) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
-        return itemBookings.stream()
-                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus() == BookingApproval.APPROVED)
-                .max(Comparator.comparing(Booking::getEnd))
-                .orElse(null);
-    }
+        if (!itemRepository.existsById(id)) {
+            throw new NotFoundException("Вещь с id " + id + " не найдена");
+        }
 
-    private Booking findNextBooking(long itemId) {
-        List<Booking> itemBookings = bookingRepository.findAllByItem_Id(itemId);
+        if (!to.isAfter(from)) {
+            throw new ItemAvailabilityException("Конец периода должен быть позже его начала");
+        }
 
-        return itemBookings.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus() == BookingApproval.APPROVED)
-                .min(Comparator.comparing(Booking::getStart))
-                .orElse(null);
+        List<IntervalDto> busy = itemAvailabilityIndex.findBusy(id, from, to);
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime freeStart = from;
+
+        for (IntervalDto interval : busy) {
+            if (interval.getStart().isAfter(freeStart)) {
+                free.add(new IntervalDto(freeStart, interval.getStart()));
+            }
+
+            freeStart = interval.getEnd();
+        }
+
+        if (to.isAfter(freeStart)) {
+            free.add(new IntervalDto(freeStart, to));
+        }
+
+        return new ItemAvailabilityDto(id, from, to, busy, free);
     }
 
-    private List<CommentDto> findComments(long itemId) {
-        return commentRepository.findAllByItemId(itemId)
+    /**
+     * Adds bookings and comments to items with one query each, however many items there are.
+     * Only the owner gets the last and next bookings. Bookings and comments are not queried at
+     * all when fields leaves them out.
+     */
+    private List<ItemDtoWithComments> mapToItemDtosWithComments(List<Item> items, long userId, FieldSet fields) {
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Long> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId() == userId)
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        boolean isBookingsIncluded = fields.includes("lastBooking") || fields.includes("nextBooking");
+        Map<Long, List<Booking>> bookings = !isBookingsIncluded || ownedItemIds.isEmpty() ? Map.of()
+                : bookingRepository.findAllByItem_IdInAndStatus(ownedItemIds, BookingApproval.APPROVED)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        Map<Long, List<CommentDto>> comments = !fields.includes("comments") || itemIds.isEmpty() ? Map.of()
+                : commentRepository.findAllByItemIdIn(itemIds)
                 .stream()
-                .map(CommentMapper::mapToCommentDto)
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::mapToCommentDto, Collectors.toList())));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        return items.stream()
+                .map(item -> {
+                    List<Booking> itemBookings = bookings.getOrDefault(item.getId(), List.of());
+
+                    Booking lastBooking = itemBookings.stream()
+                            .filter(booking -> booking.getStart().isBefore(now))
+                            .max(Comparator.comparing(Booking::getEnd))
+                            .orElse(null);
+                    Booking nextBooking = itemBookings.stream()
+                            .filter(booking -> booking.getStart().isAfter(now))
+                            .min(Comparator.comparing(Booking::getStart))
+                            .orElse(null);
+
+                    return ItemMapper.mapToItemDtoWithComments(item,
+                            BookingMapper.maptoBookingDtoForOwner(lastBooking),
+                            BookingMapper.maptoBookingDtoForOwner(nextBooking),
+                            comments.getOrDefault(item.getId(), List.of()));
+                })
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.loader;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads users and items by id in batches for the multi-get endpoints. The persistence context is
+ * the identity cache: with open-in-view it lives as long as the request, so ids already loaded by
+ * the request cost nothing, duplicate ids are asked for once and the rest come in a single IN query.
+ * Single reads stay on findById, which checks the same persistence context first.
+ */
+@Component
+public class EntityLoader {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Map<Long, User> loadUsers(Collection<Long> ids) {
+        return loadAll(User.class, ids, User::getId);
+    }
+
+    public Map<Long, Item> loadItems(Collection<Long> ids) {
+        return loadAll(Item.class, ids, Item::getId);
+    }
+
+    private <T> Map<Long, T> loadAll(Class<T> type, Collection<Long> ids, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .enableSessionCheck(true)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(idOf, Function.identity()));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.repository;
+
+import lombok.experimental.UtilityClass;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs a native single-row UPDATE and maps the row it changed to the entity, so the caller needs
+ * no read-back. Postgres writes this as UPDATE ... RETURNING, H2 as a FINAL TABLE select.
+ */
+@UtilityClass
+public class ReturningUpdate {
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> execute(EntityManager entityManager, Class<T> type, long id, String update,
+                                   List<Object> parameters) {
+        entityManager.flush();
+        // a copy loaded earlier in the transaction is now stale, and Hibernate would return it
+        // instead of the updated row; getReference finds it without a query
+        entityManager.detach(entityManager.getReference(type, id));
+
+        String database = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        String sql = "H2".equals(database)
+                ? "SELECT * FROM FINAL TABLE (" + update + ")"
+                : update + " RETURNING *";
+        Query query = entityManager.createNativeQuery(sql, type);
+
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+
+        return ((List<T>) query.getResultList()).stream()
+                .findFirst();
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOutput;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -23,7 +24,12 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public Collection<ItemRequestDtoOutput> readAllRequestorRequests(@RequestHeader("X-Sharer-User-Id") long requestorId) {
+    public Collection<ItemRequestDtoOutput> readAllRequestorRequests(@RequestHeader("X-Sharer-User-Id") long requestorId,
+                                                                     WebRequest request) {
+        if (request.checkNotModified(itemRequestService.readAllRequestorRequestsEtag(requestorId))) {
+            return null;
+        }
+
         return itemRequestService.readAllRequestorRequests(requestorId);
     }
 
@@ -38,7 +44,12 @@ public class ItemRequestController {
 
     @GetMapping("/{id}")
     public ItemRequestDtoOutput read(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @PathVariable long id) {
+                                     @PathVariable long id,
+                                     WebRequest request) {
+        if (request.checkNotModified(itemRequestService.readEtag(userId, id))) {
+            return null;
+        }
+
         return itemRequestService.read(userId, id);
     }
 }
\ No newline at end of file
@@ -3,16 +3,51 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.etag.ChangeFingerprint;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long requestorId);
 
+    Page<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long requestorId, Pageable pageable);
+
     Page<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long userId, Pageable pageable);
 
     ItemRequest findByIdOrderByCreatedDesc(long id);
+
+    List<ItemRequest> findAllByRequestorIdAndUpdatedAtGreaterThanEqual(long requestorId, LocalDateTime since);
+
+    @Query("SELECT r.updatedAt FROM ItemRequest r " +
+            "WHERE r.id = ?1 " +
+            "AND EXISTS (SELECT u.id FROM User u WHERE u.id = ?2)")
+    Optional<LocalDateTime> findUpdatedAtById(long id, long userId);
+
+    /**
+     * Empty when the requestor does not exist, so the caller falls through to the 404.
+     */
+    @Query("SELECT COUNT(r) AS count, MAX(r.updatedAt) AS updatedAt FROM User u " +
+            "LEFT JOIN ItemRequest r ON r.requestor.id = u.id " +
+            "WHERE u.id = ?1 " +
+            "GROUP BY u.id")
+    Optional<ChangeFingerprint> findFingerprintByRequestorId(long requestorId);
+
+    /**
+     * A request's representation lists the items that answer it, so item writes mark it changed.
+     */
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.updatedAt = ?2 WHERE r.id = ?1")
+    int touch(long id, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.updatedAt = ?2 " +
+            "WHERE r.id IN (SELECT i.itemRequest.id FROM Item i WHERE i.owner.id = ?1)")
+    int touchAllAnsweredBy(long ownerId, LocalDateTime updatedAt);
 }
\ No newline at end of file
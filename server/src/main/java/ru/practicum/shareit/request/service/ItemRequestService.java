@@ -11,7 +11,11 @@ public interface ItemRequestService {
 
     Collection<ItemRequestDtoOutput> readAllRequestorRequests(long requestorId);
 
+    String readAllRequestorRequestsEtag(long requestorId);
+
     Collection<ItemRequestDtoOutput> readAllOtherUsersRequests(long userId, Pageable pageable);
 
     ItemRequestDtoOutput read(long userId, long id);
+
+    String readEtag(long userId, long id);
 }
\ No newline at end of file
@@ -3,7 +3,9 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.etag.EntityTag;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -33,7 +35,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestDtoOutput create(long requestorId, ItemRequestDtoInput itemRequestDtoInput) {
         User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + requestorId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(requestorId));
 
         ItemRequest itemRequest = ItemRequestMapper
                 .mapToItemRequest(itemRequestDtoInput, requestor, LocalDateTime.now());
@@ -49,7 +51,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public Collection<ItemRequestDtoOutput> readAllRequestorRequests(long requestorId) {
         userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + requestorId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(requestorId));
 
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(requestorId);
 
@@ -62,10 +64,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(toList());
     }
 
+    @Override
+    public String readAllRequestorRequestsEtag(long requestorId) {
+        return itemRequestRepository.findFingerprintByRequestorId(requestorId)
+                .map(requests -> EntityTag.of(requests.getCount(), requests.getUpdatedAt()))
+                .orElse(null);
+    }
+
     @Override
     public Collection<ItemRequestDtoOutput> readAllOtherUsersRequests(long userId, Pageable pageable) {
         userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
         List<ItemRequest> requests = itemRequestRepository
                 .findAllByRequestorIdNotOrderByCreatedDesc(userId, pageable)
@@ -83,7 +92,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestDtoOutput read(long userId, long id) {
         userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
         ItemRequest itemRequest = itemRequestRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Запрос на вещь с id " + id + " не найден"));
@@ -96,6 +105,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToItemRequestDtoOutput(itemRequestRepository.findByIdOrderByCreatedDesc(id), items);
     }
 
+    /**
+     * Items answering a request touch it, so its own updated_at covers them.
+     */
+    @Override
+    public String readEtag(long userId, long id) {
+        return itemRequestRepository.findUpdatedAtById(id, userId)
+                .map(EntityTag::of)
+                .orElse(null);
+    }
+
     private Map<Long, List<ItemDtoWithRequestId>> findItemsByRequest(List<ItemRequest> requests) {
         return itemRepository.findAllByItemRequestIdIn(requests
                         .stream()
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.sync.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.sync.dto.SyncDto;
+import ru.practicum.shareit.sync.service.SyncService;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/sync")
+public class SyncController {
+    private final SyncService syncService;
+
+    @GetMapping
+    public SyncDto read(@RequestHeader("X-Sharer-User-Id") long userId,
+                        @RequestParam(required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return syncService.read(userId, since);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class SyncCommentDto {
+    private long id;
+    private long itemId;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
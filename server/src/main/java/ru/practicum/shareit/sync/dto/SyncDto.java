@@ -0,0 +1,27 @@
+package ru.practicum.shareit.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOutput;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything the user can see that was created or changed since the token they sent, and the
+ * ids of what was deleted. The client stores token and sends it back as since next time. When
+ * full is set the client should replace what it holds instead of merging into it.
+ */
+@Data
+@AllArgsConstructor
+public class SyncDto {
+    private LocalDateTime token;
+    private boolean full;
+    private List<ItemDtoWithRequestId> items;
+    private List<BookingDtoOutput> bookings;
+    private List<SyncCommentDto> comments;
+    private List<ItemRequestDtoOutput> requests;
+    private List<TombstoneDto> deleted;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.sync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.sync.model.SyncEntityType;
+
+@Data
+@AllArgsConstructor
+public class TombstoneDto {
+    private SyncEntityType type;
+    private long id;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.sync.mapper;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.sync.dto.SyncCommentDto;
+import ru.practicum.shareit.sync.dto.TombstoneDto;
+import ru.practicum.shareit.sync.model.Tombstone;
+
+@UtilityClass
+public class SyncMapper {
+    public SyncCommentDto mapToSyncCommentDto(Comment comment) {
+        return new SyncCommentDto(comment.getId(),
+                comment.getItem().getId(),
+                comment.getText(),
+                comment.getAuthor().getName(),
+                comment.getCreated());
+    }
+
+    public TombstoneDto mapToTombstoneDto(Tombstone tombstone) {
+        return new TombstoneDto(tombstone.getEntityType(), tombstone.getEntityId());
+    }
+}
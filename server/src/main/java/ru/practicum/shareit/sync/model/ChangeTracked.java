@@ -0,0 +1,28 @@
+package ru.practicum.shareit.sync.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import java.time.LocalDateTime;
+
+/**
+ * The updated_at column delta sync and ETags are derived from. Entity writes stamp it here; bulk
+ * UPDATE queries skip entity callbacks, so each of them sets it itself.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class ChangeTracked {
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
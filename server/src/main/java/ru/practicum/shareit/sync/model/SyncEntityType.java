@@ -0,0 +1,7 @@
+package ru.practicum.shareit.sync.model;
+
+public enum SyncEntityType {
+    ITEM,
+    BOOKING,
+    COMMENT
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.sync.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.sync.model.Tombstone;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deleting a user cascades in the database to their requests, to the items owned by them or
+ * answering their requests, and to the bookings and comments on all of those. The insert queries
+ * run before that delete and leave a tombstone for every other user who could have synced one of
+ * the rows, so they must select exactly what the foreign keys are about to remove.
+ */
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    String ITEMS_DELETED_WITH_USER = "SELECT i.id FROM items i " +
+            "LEFT JOIN requests r ON r.id = i.request_id " +
+            "WHERE i.owner_id = ?1 OR r.requestor_id = ?1";
+
+    List<Tombstone> findAllByUserIdAndDeletedAtGreaterThanEqual(long userId, LocalDateTime since);
+
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (entity_type, entity_id, user_id, deleted_at) " +
+            "SELECT 'ITEM', i.id, i.owner_id, CAST(?2 AS TIMESTAMP) FROM items i " +
+            "JOIN requests r ON r.id = i.request_id " +
+            "WHERE r.requestor_id = ?1 AND i.owner_id <> ?1", nativeQuery = true)
+    int insertForItemsDeletedWithUser(long userId, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (entity_type, entity_id, user_id, deleted_at) " +
+            "SELECT 'BOOKING', b.id, b.booker_id, CAST(?2 AS TIMESTAMP) FROM bookings b " +
+            "WHERE b.booker_id <> ?1 AND b.item_id IN (" + ITEMS_DELETED_WITH_USER + ") " +
+            "UNION ALL " +
+            "SELECT 'BOOKING', b.id, i.owner_id, CAST(?2 AS TIMESTAMP) FROM bookings b " +
+            "JOIN items i ON i.id = b.item_id " +
+            "WHERE i.owner_id <> ?1 " +
+            "AND (b.booker_id = ?1 OR b.item_id IN (" + ITEMS_DELETED_WITH_USER + "))", nativeQuery = true)
+    int insertForBookingsDeletedWithUser(long userId, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO tombstones (entity_type, entity_id, user_id, deleted_at) " +
+            "SELECT 'COMMENT', c.id, i.owner_id, CAST(?2 AS TIMESTAMP) FROM comments c " +
+            "JOIN items i ON i.id = c.item_id " +
+            "WHERE i.owner_id <> ?1 " +
+            "AND (c.author_id = ?1 OR c.item_id IN (" + ITEMS_DELETED_WITH_USER + "))", nativeQuery = true)
+    int insertForCommentsDeletedWithUser(long userId, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < ?1")
+    int deleteAllOlderThan(LocalDateTime deletedAt);
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.sync.service;
+
+import ru.practicum.shareit.sync.dto.SyncDto;
+
+import java.time.LocalDateTime;
+
+public interface SyncService {
+    SyncDto read(long userId, LocalDateTime since);
+}
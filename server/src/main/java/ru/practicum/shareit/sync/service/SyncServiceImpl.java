@@ -0,0 +1,127 @@
+package ru.practicum.shareit.sync.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOutput;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sync.dto.SyncDto;
+import ru.practicum.shareit.sync.mapper.SyncMapper;
+import ru.practicum.shareit.sync.repository.TombstoneRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads what changed from the updated_at columns. Every query is a range scan on an index ending
+ * in updated_at, so a sync costs as much as the changes since the token, not as much as everything
+ * the user has.
+ * The returned token trails the clock by the safety lag: a row stamped just before this read may
+ * not be committed yet, so rows near the boundary are sent twice rather than never. Clients apply
+ * rows by id, so a repeat is harmless.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingViewRepository bookingViewRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+
+    public SyncServiceImpl(UserRepository userRepository,
+                           ItemRepository itemRepository,
+                           BookingViewRepository bookingViewRepository,
+                           CommentRepository commentRepository,
+                           ItemRequestRepository itemRequestRepository,
+                           TombstoneRepository tombstoneRepository,
+                           @Value("${shareit.sync.safety-lag:5s}") Duration safetyLag,
+                           @Value("${shareit.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingViewRepository = bookingViewRepository;
+        this.commentRepository = commentRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    @Transactional
+    public SyncDto read(long userId, LocalDateTime since) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        LocalDateTime now = LocalDateTime.now();
+        // tombstones older than the retention are purged, so such a client has to start over
+        boolean isFull = since == null || since.isBefore(now.minus(tombstoneRetention));
+        LocalDateTime from = isFull ? BEGINNING : since;
+        LocalDateTime token = now.minus(safetyLag).isBefore(from) ? from : now.minus(safetyLag);
+
+        List<ItemDtoWithRequestId> items = itemRepository.findAllByOwnerIdAndUpdatedAtGreaterThanEqual(userId, from)
+                .stream()
+                .map(item -> ItemMapper.mapToItemDtoWithRequestId(item, getRequestId(item)))
+                .collect(Collectors.toList());
+
+        return new SyncDto(token,
+                isFull,
+                items,
+                bookingViewRepository.findAllChangedSince(userId, from)
+                        .stream()
+                        .map(BookingMapper::mapToBookingDtoOutput)
+                        .collect(Collectors.toList()),
+                commentRepository.findAllOnOwnerItemsChangedSince(userId, from)
+                        .stream()
+                        .map(SyncMapper::mapToSyncCommentDto)
+                        .collect(Collectors.toList()),
+                findRequests(userId, from),
+                isFull ? List.of() : tombstoneRepository.findAllByUserIdAndDeletedAtGreaterThanEqual(userId, from)
+                        .stream()
+                        .map(SyncMapper::mapToTombstoneDto)
+                        .collect(Collectors.toList()));
+    }
+
+    private List<ItemRequestDtoOutput> findRequests(long requestorId, LocalDateTime from) {
+        List<ItemRequest> requests = itemRequestRepository
+                .findAllByRequestorIdAndUpdatedAtGreaterThanEqual(requestorId, from);
+
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<ItemDtoWithRequestId>> items = itemRepository.findAllByItemRequestIdIn(requests
+                        .stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .map(item -> ItemMapper.mapToItemDtoWithRequestId(item, getRequestId(item)))
+                .collect(Collectors.groupingBy(ItemDtoWithRequestId::getRequestId));
+
+        return requests.stream()
+                .map(request -> ItemRequestMapper.mapToItemRequestDtoOutput(request, items.get(request.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private long getRequestId(Item item) {
+        return item.getItemRequest() == null ? 0 : item.getItemRequest().getId();
+    }
+}
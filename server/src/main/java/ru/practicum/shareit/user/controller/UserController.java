@@ -1,11 +1,15 @@
 package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.exception.BatchTooLargeException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,18 +17,38 @@ import java.util.Collection;
 public class UserController {
     private final UserService userService;
 
+    @Value("${shareit.batch.max-size:100}")
+    private int maxBatchSize;
+
     @PostMapping
     public UserDto create(@RequestBody UserDto userDto) {
         return userService.create(userDto);
     }
 
     @GetMapping("/{id}")
-    public UserDto read(@PathVariable long id) {
+    public UserDto read(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(userService.readEtag(id))) {
+            return null;
+        }
+
         return userService.read(id);
     }
 
+    @GetMapping(params = "ids")
+    public Collection<UserDto> readAllByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BatchTooLargeException(maxBatchSize);
+        }
+
+        return userService.readAllByIds(ids);
+    }
+
     @GetMapping
-    public Collection<UserDto> readAll() {
+    public Collection<UserDto> readAll(WebRequest request) {
+        if (request.checkNotModified(userService.readAllEtag())) {
+            return null;
+        }
+
         return userService.readAll();
     }
 
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
+import ru.practicum.shareit.sync.model.ChangeTracked;
 
 import javax.persistence.*;
 
@@ -13,7 +14,7 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-public class User {
+public class User extends ChangeTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
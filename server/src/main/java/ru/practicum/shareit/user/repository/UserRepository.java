@@ -1,9 +1,19 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.etag.ChangeFingerprint;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    @Query("SELECT u.updatedAt FROM User u WHERE u.id = ?1")
+    Optional<LocalDateTime> findUpdatedAtById(long id);
+
+    @Query("SELECT COUNT(u) AS count, MAX(u.updatedAt) AS updatedAt FROM User u")
+    ChangeFingerprint findFingerprint();
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.repository;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    /**
+     * Updates the non-null fields of the user in one statement and returns the updated user.
+     */
+    Optional<User> update(long id, String name, String email);
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.user.repository;
+
+import ru.practicum.shareit.repository.ReturningUpdate;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> update(long id, String name, String email) {
+        // native updates skip @PreUpdate; always having a SET also returns the row when nothing is patched
+        StringBuilder update = new StringBuilder("UPDATE users SET updated_at = ?1");
+        List<Object> parameters = new ArrayList<>(List.of(LocalDateTime.now()));
+
+        if (name != null) {
+            parameters.add(name);
+            update.append(", name = ?").append(parameters.size());
+        }
+
+        if (email != null) {
+            parameters.add(email);
+            update.append(", email = ?").append(parameters.size());
+        }
+
+        parameters.add(id);
+        update.append(" WHERE id = ?").append(parameters.size());
+
+        return ReturningUpdate.execute(entityManager, User.class, id, update.toString(), parameters);
+    }
+}
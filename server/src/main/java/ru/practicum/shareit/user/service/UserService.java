@@ -3,14 +3,21 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface UserService {
     UserDto create(UserDto userDto);
 
     UserDto read(long id);
 
+    String readEtag(long id);
+
     Collection<UserDto> readAll();
 
+    String readAllEtag();
+
+    Collection<UserDto> readAllByIds(List<Long> ids);
+
     UserDto update(UserDto userDto, long id);
 
     void delete(long id);
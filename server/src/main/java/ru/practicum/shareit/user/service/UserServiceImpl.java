@@ -1,20 +1,44 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
+import ru.practicum.shareit.etag.ChangeFingerprint;
+import ru.practicum.shareit.etag.EntityTag;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.loader.EntityLoader;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sync.repository.TombstoneRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final BookingViewRepository bookingViewRepository;
+    private final ItemAvailabilityIndex itemAvailabilityIndex;
+    private final EntityLoader entityLoader;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final TombstoneRepository tombstoneRepository;
+
+    @Value("${shareit.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
 
     @Override
     public UserDto create(UserDto userDto) {
@@ -26,11 +50,18 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto read(long id) {
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(id));
 
         return UserMapper.mapToUserDto(user);
     }
 
+    @Override
+    public String readEtag(long id) {
+        return userRepository.findUpdatedAtById(id)
+                .map(EntityTag::of)
+                .orElse(null);
+    }
+
     @Override
     public Collection<UserDto> readAll() {
         return userRepository.findAll().stream()
@@ -39,26 +70,55 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public String readAllEtag() {
+        ChangeFingerprint users = userRepository.findFingerprint();
+
+        return EntityTag.of(users.getCount(), users.getUpdatedAt());
+    }
+
+    @Override
+    public Collection<UserDto> readAllByIds(List<Long> ids) {
+        Map<Long, User> users = entityLoader.loadUsers(ids);
+
+        return ids.stream()
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(UserMapper::mapToUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public UserDto update(UserDto userDto, long id) {
-        User updatedUser = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден"));
+        User updatedUser = userRepository.update(id, userDto.getName(), userDto.getEmail())
+                .orElseThrow(() -> new UserNotFoundException(id));
 
-        if (userDto.getName() != null) {
-            updatedUser.setName(userDto.getName());
-        }
+        LocalDateTime now = LocalDateTime.now();
 
-        if (userDto.getEmail() != null) {
-            updatedUser.setEmail(userDto.getEmail());
-        }
+        bookingViewRepository.updateBooker(id, updatedUser.getName(), updatedUser.getEmail(), now);
+        commentRepository.touchAllByAuthor(id, now);
 
-        return UserMapper.mapToUserDto(userRepository.save(updatedUser));
+        return UserMapper.mapToUserDto(updatedUser);
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
         userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден"));
+                .orElseThrow(() -> new UserNotFoundException(id));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // the foreign keys remove rows other users have synced, tombstones tell them about it
+        tombstoneRepository.deleteAllOlderThan(now.minus(tombstoneRetention));
+        tombstoneRepository.insertForItemsDeletedWithUser(id, now);
+        tombstoneRepository.insertForBookingsDeletedWithUser(id, now);
+        tombstoneRepository.insertForCommentsDeletedWithUser(id, now);
+        itemRequestRepository.touchAllAnsweredBy(id, now);
 
         userRepository.deleteById(id);
+
+        itemAvailabilityIndex.evictAll();
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ CREATE TABLE IF NOT EXISTS users (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, 
     name  VARCHAR(50) NOT NULL, 
     email VARCHAR(100) NOT NULL, 
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_user 
         PRIMARY KEY (id), 
     CONSTRAINT UQ_USER_EMAIL 
@@ -15,12 +16,15 @@ CREATE TABLE IF NOT EXISTS requests (
     description  VARCHAR(200) NOT NULL,
     requestor_id BIGINT NOT NULL,
     created      TIMESTAMP WITHOUT TIME ZONE,
+    updated_at   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_request
         PRIMARY KEY (id),
     CONSTRAINT fk_requests_to_users
         FOREIGN KEY(requestor_id) REFERENCES users(id) ON DELETE CASCADE
     );
 
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_updated ON requests (requestor_id, updated_at);
+
 DROP TABLE IF EXISTS items CASCADE;
 CREATE TABLE IF NOT EXISTS items ( 
     id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,  
@@ -29,6 +33,7 @@ CREATE TABLE IF NOT EXISTS items (
     is_available BOOLEAN NOT NULL,  
     owner_id     BIGINT NOT NULL,  
     request_id   BIGINT,
+    updated_at   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_item 
         PRIMARY KEY (id), 
     CONSTRAINT fk_items_to_users 
@@ -37,14 +42,20 @@ CREATE TABLE IF NOT EXISTS items (
         FOREIGN KEY(request_id) REFERENCES requests(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_items_owner_updated ON items (owner_id, updated_at);
+
+DROP SEQUENCE IF EXISTS booking_seq;
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+
 DROP TABLE IF EXISTS bookings CASCADE;
 CREATE TABLE IF NOT EXISTS bookings ( 
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, 
+    id         BIGINT NOT NULL, 
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL, 
     end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL, 
     item_id    BIGINT NOT NULL, 
     booker_id  BIGINT NOT NULL, 
     status     VARCHAR(20) NOT NULL, 
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_booking 
         PRIMARY KEY (id), 
     CONSTRAINT fk_bookings_to_items 
@@ -53,6 +64,51 @@ CREATE TABLE IF NOT EXISTS bookings (
         FOREIGN KEY(booker_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_range ON bookings (item_id, status, start_date, end_date);
+
+DROP TABLE IF EXISTS booking_view CASCADE;
+CREATE TABLE IF NOT EXISTS booking_view (
+    id                BIGINT NOT NULL,
+    start_date        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date          TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status            VARCHAR(20) NOT NULL,
+    item_id           BIGINT NOT NULL,
+    item_name         VARCHAR(100) NOT NULL,
+    item_description  VARCHAR(200) NOT NULL,
+    item_is_available BOOLEAN NOT NULL,
+    booker_id         BIGINT NOT NULL,
+    booker_name       VARCHAR(50) NOT NULL,
+    booker_email      VARCHAR(100) NOT NULL,
+    owner_id          BIGINT NOT NULL,
+    updated_at        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_view
+        PRIMARY KEY (id),
+    CONSTRAINT fk_booking_view_to_bookings
+        FOREIGN KEY(id) REFERENCES bookings(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_view_booker ON booking_view (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_view_booker_status ON booking_view (booker_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_view_owner ON booking_view (owner_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_view_owner_status ON booking_view (owner_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_booking_view_item ON booking_view (item_id);
+CREATE INDEX IF NOT EXISTS idx_booking_view_booker_updated ON booking_view (booker_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_booking_view_owner_updated ON booking_view (owner_id, updated_at);
+
+DROP TABLE IF EXISTS booking_intake_results CASCADE;
+CREATE TABLE IF NOT EXISTS booking_intake_results (
+    handle       VARCHAR(36) NOT NULL,
+    booker_id    BIGINT NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    booking_id   BIGINT,
+    error        VARCHAR(1000),
+    completed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_intake_result
+        PRIMARY KEY (handle)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_intake_results_completed ON booking_intake_results (completed_at);
+
 DROP TABLE IF EXISTS comments CASCADE;
 CREATE TABLE IF NOT EXISTS comments ( 
     id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL, 
@@ -60,10 +116,29 @@ CREATE TABLE IF NOT EXISTS comments (
     created   TIMESTAMP WITHOUT TIME ZONE,
     item_id   BIGINT NOT NULL, 
     author_id BIGINT NOT NULL, 
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_comment 
         PRIMARY KEY (id), 
     CONSTRAINT fk_comments_to_items 
         FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE, 
     CONSTRAINT fk_comments_to_users 
         FOREIGN KEY(author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_updated ON comments (item_id, updated_at);
+
+DROP TABLE IF EXISTS tombstones CASCADE;
+CREATE TABLE IF NOT EXISTS tombstones (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    deleted_at  TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_tombstone
+        PRIMARY KEY (id),
+    CONSTRAINT fk_tombstones_to_users
+        FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_tombstones_user_deleted ON tombstones (user_id, deleted_at);
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted ON tombstones (deleted_at);
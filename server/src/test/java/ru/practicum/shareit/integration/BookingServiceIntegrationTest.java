@@ -3,13 +3,17 @@ package ru.practicum.shareit.integration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
+import ru.practicum.shareit.booking.service.BookingIntake;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -35,6 +39,8 @@ public class BookingServiceIntegrationTest {
     private ItemService itemService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
     UserDto userDto1;
     UserDto userDto2;
     ItemDtoInput itemDtoInput1;
@@ -177,6 +183,37 @@ public class BookingServiceIntegrationTest {
                 " не найдено для пользователя с id " + otherUser.getId(), thrown.getMessage());
     }
 
+    @Test
+    void readAllByIds_whenSomeBookingsAreNotVisible_thenReturnedOnlyVisibleInRequestedOrder() {
+        UserDto savedOwner = userService.create(userDto1);
+
+        itemService.create(savedOwner.getId(), itemDtoInput1);
+        itemService.create(savedOwner.getId(), itemDtoInput2);
+
+        UserDto savedBooker = userService.create(userDto2);
+        BookingDtoOutput savedCurrentBooking = bookingService.create(savedBooker.getId(), currentBooking);
+        BookingDtoOutput savedFutureBooking = bookingService.create(savedBooker.getId(), futureBooking);
+        UserDto otherUser = userService.create(new UserDto(3, "User3", "user3@mail.ru"));
+
+        List<Long> ids = List.of(savedFutureBooking.getId(), 999L, savedCurrentBooking.getId());
+
+        List<BookingDtoOutput> bookerBookings = new ArrayList<>(bookingService.readAllByIds(savedBooker.getId(), ids));
+        List<BookingDtoOutput> ownerBookings = new ArrayList<>(bookingService.readAllByIds(savedOwner.getId(), ids));
+
+        assertEquals(2, bookerBookings.size());
+        assertEquals(savedFutureBooking.getId(), bookerBookings.get(0).getId());
+        assertEquals(savedCurrentBooking.getId(), bookerBookings.get(1).getId());
+        assertEquals(2, ownerBookings.size());
+        assertTrue(bookingService.readAllByIds(otherUser.getId(), ids).isEmpty());
+    }
+
+    @Test
+    void readAllByIds_whenUserNotFound_thenNotFoundExceptionThrown() {
+        Throwable thrown = assertThrows(NotFoundException.class,
+                () -> bookingService.readAllByIds(9999, List.of(1L)));
+        assertEquals("Пользователь с id " + 9999 + " не найден", thrown.getMessage());
+    }
+
     @Test
     void readAllBookerBookings_whenAllState_thenReturnAllBookings() {
         UserDto savedOwner = userService.create(userDto1);
@@ -363,6 +400,28 @@ public class BookingServiceIntegrationTest {
         assertEquals("Пользователь с id " + 9999 + " не найден", thrown.getMessage());
     }
 
+    @Test
+    void readAllBookerBookings_whenItemAndBookerUpdated_thenReturnUpdatedBookings() {
+        UserDto savedOwner = userService.create(userDto1);
+        ItemDtoWithRequestId savedItem = itemService.create(savedOwner.getId(), itemDtoInput1);
+        UserDto savedBooker = userService.create(userDto2);
+
+        bookingService.create(savedBooker.getId(), currentBooking);
+
+        itemService.update(savedOwner.getId(), new ItemDtoInput(0, "Item1 Updated", null, null, 0),
+                savedItem.getId());
+        userService.update(new UserDto(0, "User2 Updated", null), savedBooker.getId());
+
+        List<BookingDtoOutput> bookings = new ArrayList<>(bookingService
+                .readAllOwnerItemBookings(savedOwner.getId(), "ALL", pageable));
+
+        assertEquals(1, bookings.size());
+        assertEquals("Item1 Updated", bookings.get(0).getItem().getName());
+        assertEquals("Item1 Description", bookings.get(0).getItem().getDescription());
+        assertEquals("User2 Updated", bookings.get(0).getBooker().getName());
+        assertEquals("user2@mail.ru", bookings.get(0).getBooker().getEmail());
+    }
+
     @Test
     void readAllOwnerItemBookings_whenAllState_thenReturnAllBookings() {
         UserDto savedOwner = userService.create(userDto1);
@@ -627,4 +686,66 @@ public class BookingServiceIntegrationTest {
         assertEquals("Бронирование уже подтверждено", thrown.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    void enqueue_whenAllIsOk_thenBookingCreatedByWriter() throws InterruptedException {
+        UserDto savedOwner = userService.create(userDto1);
+
+        itemService.create(savedOwner.getId(), itemDtoInput1);
+
+        UserDto savedBooker = userService.create(userDto2);
+
+        BookingHandleDto handle = bookingService.enqueue(savedBooker.getId(), currentBooking);
+
+        assertEquals(BookingIntakeStatus.QUEUED, handle.getStatus());
+
+        BookingHandleDto result = handle;
+
+        for (int i = 0; i < 100 && result.getStatus() == BookingIntakeStatus.QUEUED; i++) {
+            Thread.sleep(50);
+            result = bookingService.readIntake(savedBooker.getId(), handle.getHandle());
+        }
+
+        assertEquals(BookingIntakeStatus.CREATED, result.getStatus());
+
+        BookingDtoOutput savedBooking = bookingService.read(savedBooker.getId(), result.getBookingId());
+
+        assertEquals(BookingApproval.WAITING, savedBooking.getStatus());
+        assertEquals(1, savedBooking.getItem().getId());
+    }
+
+    @Test
+    void readIntake_whenUserIsNotBooker_thenNotFoundExceptionThrown() {
+        UserDto savedOwner = userService.create(userDto1);
+
+        itemService.create(savedOwner.getId(), itemDtoInput1);
+
+        UserDto savedBooker = userService.create(userDto2);
+
+        BookingHandleDto handle = bookingService.enqueue(savedBooker.getId(), currentBooking);
+
+        Throwable thrown = assertThrows(NotFoundException.class,
+                () -> bookingService.readIntake(savedOwner.getId(), handle.getHandle()));
+        assertEquals("Заявка на бронирование " + handle.getHandle() + " не найдена", thrown.getMessage());
+    }
+
+    @Test
+    void readIntake_whenPolledOnAnotherInstance_thenStoredResultFound() throws InterruptedException {
+        UserDto savedOwner = userService.create(userDto1);
+
+        itemService.create(savedOwner.getId(), itemDtoInput1);
+
+        UserDto savedBooker = userService.create(userDto2);
+
+        BookingHandleDto handle = bookingService.enqueue(savedBooker.getId(), currentBooking);
+        BookingIntake otherInstance = beanFactory.createBean(BookingIntake.class);
+        BookingHandleDto result = handle;
+
+        for (int i = 0; i < 100 && result.getStatus() == BookingIntakeStatus.QUEUED; i++) {
+            Thread.sleep(50);
+            result = bookingService.readIntake(savedBooker.getId(), handle.getHandle());
+        }
+
+        assertEquals(result, otherInstance.find(savedBooker.getId(), handle.getHandle()).orElseThrow());
+        assertTrue(otherInstance.find(savedOwner.getId(), handle.getHandle()).isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.integration;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOutput;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class EtagIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    UserDto owner;
+    UserDto booker;
+    ItemDtoWithRequestId item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(1, "User1", "user1@mail.ru"));
+        booker = userService.create(new UserDto(2, "User2", "user2@mail.ru"));
+        item = itemService.create(owner.getId(), new ItemDtoInput(0, "Item1", "Item1 Description", true, 0));
+    }
+
+    @Test
+    @SneakyThrows
+    void readItem_whenEtagMatches_thenNotModified() {
+        String etag = readEtag("/items/" + item.getId(), owner.getId());
+
+        read("/items/" + item.getId(), owner.getId(), etag)
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    void readItem_whenCommentAdded_thenEtagChanges() {
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.of(2023, 8, 1, 10, 0, 0),
+                LocalDateTime.of(2023, 8, 8, 10, 0, 0),
+                item.getId()));
+        bookingService.updateApproval(owner.getId(), booking.getId(), true);
+
+        String etag = readEtag("/items/" + item.getId(), owner.getId());
+
+        itemService.createComment(booker.getId(), new CommentDto(0, "Good item", null, null), item.getId());
+
+        read("/items/" + item.getId(), owner.getId(), etag)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SneakyThrows
+    void readItem_whenCallerIsNotOwner_thenOtherEtag() {
+        String ownerEtag = readEtag("/items/" + item.getId(), owner.getId());
+        String bookerEtag = readEtag("/items/" + item.getId(), booker.getId());
+
+        assertNotEquals(ownerEtag, bookerEtag);
+    }
+
+    @Test
+    @SneakyThrows
+    void readBooking_whenApproved_thenEtagChanges() {
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId()));
+        String etag = readEtag("/bookings/" + booking.getId(), booker.getId());
+
+        read("/bookings/" + booking.getId(), booker.getId(), etag)
+                .andExpect(status().isNotModified());
+
+        bookingService.updateApproval(owner.getId(), booking.getId(), true);
+
+        read("/bookings/" + booking.getId(), booker.getId(), etag)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SneakyThrows
+    void readBooking_whenNotVisibleToUser_thenNotFound() {
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId()));
+        UserDto stranger = userService.create(new UserDto(3, "User3", "user3@mail.ru"));
+
+        read("/bookings/" + booking.getId(), stranger.getId(), "*")
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @SneakyThrows
+    void readRequests_whenItemAnswersRequest_thenEtagChanges() {
+        ItemRequestDtoOutput request = itemRequestService.create(booker.getId(),
+                new ItemRequestDtoInput(0, "I need an item"));
+        String listEtag = readEtag("/requests", booker.getId());
+        String requestEtag = readEtag("/requests/" + request.getId(), booker.getId());
+
+        read("/requests", booker.getId(), listEtag)
+                .andExpect(status().isNotModified());
+
+        itemService.create(owner.getId(), new ItemDtoInput(0, "Item2", "Item2 Description", true, request.getId()));
+
+        read("/requests", booker.getId(), listEtag)
+                .andExpect(status().isOk());
+        read("/requests/" + request.getId(), booker.getId(), requestEtag)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @SneakyThrows
+    void readUsers_whenUserUpdatedOrDeleted_thenEtagChanges() {
+        String userEtag = readEtag("/users/" + owner.getId(), owner.getId());
+        String listEtag = readEtag("/users", owner.getId());
+
+        read("/users", owner.getId(), listEtag)
+                .andExpect(status().isNotModified());
+
+        userService.update(new UserDto(0, "User1 Updated", null), owner.getId());
+
+        read("/users/" + owner.getId(), owner.getId(), userEtag)
+                .andExpect(status().isOk());
+
+        listEtag = readEtag("/users", owner.getId());
+        userService.delete(booker.getId());
+
+        read("/users", owner.getId(), listEtag)
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    private String readEtag(String path, long userId) {
+        return mockMvc.perform(get(path)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    @SneakyThrows
+    private ResultActions read(String path, long userId, String etag) {
+        return mockMvc.perform(get(path)
+                .header("X-Sharer-User-Id", userId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.integration;
+
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class GraphQlIntegrationTest {
+    private static final String MY_ITEMS_QUERY = "{ myItems { name owner { name } "
+            + "lastBooking { booker { name } } nextBooking { booker { name } } "
+            + "comments(last: 3) { text author { name } } } }";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    UserDto owner;
+    UserDto booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(1, "User1", "user1@mail.ru"));
+        booker = userService.create(new UserDto(2, "User2", "user2@mail.ru"));
+    }
+
+    @Test
+    @SneakyThrows
+    void myItems_whenMoreItemsAreReturned_thenSameNumberOfStatements() {
+        createItemWithBookingsAndComment(1);
+
+        long statementsForOneItem = countStatements(() -> query(owner.getId(), MY_ITEMS_QUERY)
+                .andExpect(jsonPath("$.data.myItems", hasSize(1)))
+                .andExpect(jsonPath("$.data.myItems[0].owner.name").value("User1"))
+                .andExpect(jsonPath("$.data.myItems[0].lastBooking.booker.name").value("User2"))
+                .andExpect(jsonPath("$.data.myItems[0].nextBooking.booker.name").value("User2"))
+                .andExpect(jsonPath("$.data.myItems[0].comments[0].author.name").value("User2")));
+
+        createItemWithBookingsAndComment(2);
+        createItemWithBookingsAndComment(3);
+
+        long statementsForThreeItems = countStatements(() -> query(owner.getId(), MY_ITEMS_QUERY)
+                .andExpect(jsonPath("$.data.myItems", hasSize(3))));
+
+        assertEquals(statementsForOneItem, statementsForThreeItems);
+    }
+
+    @Test
+    @SneakyThrows
+    void myItems_whenCallerIsNotOwner_thenBookingsAreHidden() {
+        ItemDtoWithRequestId item = createItemWithBookingsAndComment(1);
+
+        query(booker.getId(), "{ item(id: " + item.getId() + ") { name lastBooking { id } nextBooking { id } } }")
+                .andExpect(jsonPath("$.data.item.name").value("Item1"))
+                .andExpect(jsonPath("$.data.item.lastBooking").doesNotExist())
+                .andExpect(jsonPath("$.data.item.nextBooking").doesNotExist());
+    }
+
+    @Test
+    @SneakyThrows
+    void query_whenTooDeep_thenRejected() {
+        query(owner.getId(), "{ myRequests { items { request { items { request { items { request { items "
+                + "{ name } } } } } } } } }")
+                .andExpect(jsonPath("$.errors[0].message", containsString("depth")));
+    }
+
+    @Test
+    @SneakyThrows
+    void query_whenTooCostly_thenRejected() {
+        query(owner.getId(), "{ myItems(size: 200) { comments { author { name } } } }")
+                .andExpect(jsonPath("$.errors[0].message", containsString("complexity")));
+    }
+
+    @Test
+    @SneakyThrows
+    void me_whenUserNotFound_thenNotFoundError() {
+        query(9999, "{ me { name } }")
+                .andExpect(jsonPath("$.errors[0].message").value("Пользователь с id 9999 не найден"))
+                .andExpect(jsonPath("$.errors[0].extensions.classification").value("NOT_FOUND"));
+    }
+
+    @Test
+    @SneakyThrows
+    void user_whenCallerNotFound_thenNotFoundError() {
+        query(9999, "{ user(id: " + owner.getId() + ") { name } }")
+                .andExpect(jsonPath("$.errors[0].message").value("Пользователь с id 9999 не найден"))
+                .andExpect(jsonPath("$.data.user").doesNotExist());
+    }
+
+    @Test
+    @SneakyThrows
+    void comments_whenLastGiven_thenOnlyLatestLoaded() {
+        ItemDtoWithRequestId item = createItemWithBookingsAndComment(1);
+
+        itemService.createComment(booker.getId(), new CommentDto(0, "Second", null, null), item.getId());
+        itemService.createComment(booker.getId(), new CommentDto(0, "Third", null, null), item.getId());
+
+        query(owner.getId(), "{ item(id: " + item.getId() + ") { latest: comments(last: 2) { text } "
+                + "all: comments { text } } }")
+                .andExpect(jsonPath("$.data.item.latest", hasSize(2)))
+                .andExpect(jsonPath("$.data.item.latest[0].text").value("Third"))
+                .andExpect(jsonPath("$.data.item.latest[1].text").value("Second"))
+                .andExpect(jsonPath("$.data.item.all", hasSize(3)));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        query(owner.getId(), "{ item(id: " + item.getId() + ") { comments(last: 1) { text author { name } } } }")
+                .andExpect(jsonPath("$.data.item.comments[0].text").value("Third"))
+                .andExpect(jsonPath("$.data.item.comments[0].author.name").value("User2"));
+
+        assertEquals(1, statistics.getEntityStatistics(Comment.class.getName()).getLoadCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void comments_whenLastNotGiven_thenDefaultNumberLoaded() {
+        ItemDtoWithRequestId item = createItemWithBookingsAndComment(1);
+
+        for (int i = 0; i < 10; i++) {
+            itemService.createComment(booker.getId(), new CommentDto(0, "Comment" + i, null, null), item.getId());
+        }
+
+        query(owner.getId(), "{ item(id: " + item.getId() + ") { comments { text } } }")
+                .andExpect(jsonPath("$.data.item.comments", hasSize(10)))
+                .andExpect(jsonPath("$.data.item.comments[0].text").value("Comment9"));
+    }
+
+    @Test
+    @SneakyThrows
+    void query_whenUserIdNotNumber_thenBadRequest() {
+        MvcResult result = mockMvc.perform(post("/graphql")
+                        .header("X-Sharer-User-Id", "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\": \"{ me { name } }\"}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ItemDtoWithRequestId createItemWithBookingsAndComment(int number) {
+        ItemDtoWithRequestId item = itemService.create(owner.getId(),
+                new ItemDtoInput(0, "Item" + number, "Item" + number + " Description", true, 0));
+        BookingDtoOutput lastBooking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.of(2023, 8, 1, 10, 0, 0),
+                LocalDateTime.of(2023, 8, 8, 10, 0, 0),
+                item.getId()));
+        BookingDtoOutput nextBooking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2),
+                item.getId()));
+
+        bookingService.updateApproval(owner.getId(), lastBooking.getId(), true);
+        bookingService.updateApproval(owner.getId(), nextBooking.getId(), true);
+        itemService.createComment(booker.getId(), new CommentDto(0, "Good item", null, null), item.getId());
+
+        return item;
+    }
+
+    @SneakyThrows
+    private long countStatements(Executable executable) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        executable.execute();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @SneakyThrows
+    private ResultActions query(long userId, String query) {
+        MvcResult result = mockMvc.perform(post("/graphql")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\": \"" + query + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+}
@@ -13,6 +13,7 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDtoInput;
@@ -169,6 +170,44 @@ class ItemServiceIntegrationTest {
         assertEquals(2, returnedItem.getNextBooking().getBookerId());
     }
 
+    @Test
+    void readAllByIds_whenUserOwnsOnlySomeItems_thenBookingsShownOnlyForOwnedItems() {
+        UserDto savedOwner = userService.create(userDto1);
+        UserDto savedBooker = userService.create(userDto2);
+        ItemDtoWithRequestId ownedItem = itemService.create(savedOwner.getId(), itemDtoInput1);
+        ItemDtoWithRequestId otherItem = itemService.create(savedBooker.getId(), itemDtoInput2);
+        BookingDtoOutput savedLastBooking = bookingService.create(savedBooker.getId(), lastBooking);
+        BookingDtoOutput savedNextBooking = bookingService.create(savedBooker.getId(), nextBooking);
+
+        bookingService.updateApproval(savedOwner.getId(), savedLastBooking.getId(), true);
+        bookingService.updateApproval(savedOwner.getId(), savedNextBooking.getId(), true);
+
+        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAllByIds(savedOwner.getId(),
+                List.of(otherItem.getId(), 999L, ownedItem.getId())));
+
+        assertEquals(2, returnedItems.size());
+        assertEquals(otherItem.getId(), returnedItems.get(0).getId());
+        assertNull(returnedItems.get(0).getLastBooking());
+        assertNull(returnedItems.get(0).getNextBooking());
+        assertEquals(ownedItem.getId(), returnedItems.get(1).getId());
+        assertEquals(savedLastBooking.getId(), returnedItems.get(1).getLastBooking().getId());
+        assertEquals(savedNextBooking.getId(), returnedItems.get(1).getNextBooking().getId());
+    }
+
+    @Test
+    void readAllByIds_whenIdsRepeat_thenEachItemReturnedOnce() {
+        UserDto savedOwner = userService.create(userDto1);
+        ItemDtoWithRequestId savedItem1 = itemService.create(savedOwner.getId(), itemDtoInput1);
+        ItemDtoWithRequestId savedItem2 = itemService.create(savedOwner.getId(), itemDtoInput2);
+
+        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAllByIds(savedOwner.getId(),
+                List.of(savedItem2.getId(), savedItem1.getId(), savedItem2.getId())));
+
+        assertEquals(2, returnedItems.size());
+        assertEquals(savedItem2.getId(), returnedItems.get(0).getId());
+        assertEquals(savedItem1.getId(), returnedItems.get(1).getId());
+    }
+
     @Test
     void readAll_whenAllIsOk_thenReturnedItemCollection() {
         UserDto savedOwner = userService.create(userDto1);
@@ -185,7 +224,8 @@ class ItemServiceIntegrationTest {
                 .sorted(Comparator.comparingLong(ItemDtoWithRequestId::getId))
                 .collect(Collectors.toList());
 
-        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAll(savedOwner.getId(), pageable));
+        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAll(savedOwner.getId(),
+                pageable, FieldSet.ALL));
 
         assertEquals(expectedItems.size(), returnedItems.size());
 
@@ -208,7 +248,8 @@ class ItemServiceIntegrationTest {
 
     @Test
     void readAll_whenOwnerNotFound_thenNotFoundExceptionThrown() {
-        Throwable thrown = assertThrows(NotFoundException.class, () -> itemService.readAll(9999, pageable));
+        Throwable thrown = assertThrows(NotFoundException.class,
+                () -> itemService.readAll(9999, pageable, FieldSet.ALL));
         assertEquals("Пользователь с id " + 9999 + " не найден", thrown.getMessage());
     }
 
@@ -382,4 +423,37 @@ class ItemServiceIntegrationTest {
                 () -> itemService.createComment(savedAuthor.getId(), commentDto, savedItem.getId()));
         assertEquals("Отзыв можно оставить только после состоявшегося бронирования", thrown.getMessage());
     }
+
+    @Test
+    void readAvailability_whenBookingCreatedAndRejected_thenIntervalBecomesFree() {
+        UserDto savedOwner = userService.create(userDto1);
+        UserDto savedBooker = userService.create(userDto2);
+        ItemDtoWithRequestId savedItem = itemService.create(savedOwner.getId(), itemDtoInput1);
+        LocalDateTime from = nextBooking.getStart().minusHours(1);
+        LocalDateTime to = nextBooking.getEnd().plusHours(1);
+
+        ItemAvailabilityDto emptyCalendar = itemService.readAvailability(savedBooker.getId(), savedItem.getId(),
+                from, to);
+
+        assertEquals(0, emptyCalendar.getBusy().size());
+        assertEquals(1, emptyCalendar.getFree().size());
+
+        BookingDtoOutput savedNextBooking = bookingService.create(savedBooker.getId(), nextBooking);
+
+        ItemAvailabilityDto bookedCalendar = itemService.readAvailability(savedBooker.getId(), savedItem.getId(),
+                from, to);
+
+        assertEquals(1, bookedCalendar.getBusy().size());
+        assertEquals(nextBooking.getStart(), bookedCalendar.getBusy().get(0).getStart());
+        assertEquals(nextBooking.getEnd(), bookedCalendar.getBusy().get(0).getEnd());
+        assertEquals(2, bookedCalendar.getFree().size());
+
+        bookingService.updateApproval(savedOwner.getId(), savedNextBooking.getId(), false);
+
+        ItemAvailabilityDto rejectedCalendar = itemService.readAvailability(savedBooker.getId(), savedItem.getId(),
+                from, to);
+
+        assertEquals(0, rejectedCalendar.getBusy().size());
+        assertEquals(1, rejectedCalendar.getFree().size());
+    }
 }
\ No newline at end of file
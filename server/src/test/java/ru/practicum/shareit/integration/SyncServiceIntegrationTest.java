@@ -0,0 +1,108 @@
+package ru.practicum.shareit.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoInput;
+import ru.practicum.shareit.item.dto.ItemDtoWithRequestId;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.sync.dto.SyncDto;
+import ru.practicum.shareit.sync.dto.TombstoneDto;
+import ru.practicum.shareit.sync.model.SyncEntityType;
+import ru.practicum.shareit.sync.service.SyncService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.sync.safety-lag=0s")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class SyncServiceIntegrationTest {
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    UserDto owner;
+    UserDto booker;
+    ItemDtoWithRequestId item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new UserDto(1, "User1", "user1@mail.ru"));
+        booker = userService.create(new UserDto(2, "User2", "user2@mail.ru"));
+        item = itemService.create(owner.getId(), new ItemDtoInput(0, "Item1", "Item1 Description", true, 0));
+    }
+
+    @Test
+    void read_whenSinceIsNull_thenFullSync() {
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId()));
+
+        SyncDto sync = syncService.read(owner.getId(), null);
+
+        assertTrue(sync.isFull());
+        assertEquals(1, sync.getItems().size());
+        assertEquals(item.getId(), sync.getItems().get(0).getId());
+        assertEquals(1, sync.getBookings().size());
+        assertEquals(booking.getId(), sync.getBookings().get(0).getId());
+        assertEquals(0, sync.getDeleted().size());
+    }
+
+    @Test
+    void read_whenSinceIsToken_thenOnlyChangesAfterIt() {
+        ItemDtoWithRequestId otherItem = itemService.create(owner.getId(),
+                new ItemDtoInput(0, "Item2", "Item2 Description", true, 0));
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), otherItem.getId()));
+        LocalDateTime token = syncService.read(booker.getId(), null).getToken();
+
+        itemService.update(owner.getId(), new ItemDtoInput(0, "Item1 Updated", null, null, 0), item.getId());
+        bookingService.updateApproval(owner.getId(), booking.getId(), true);
+
+        SyncDto ownerSync = syncService.read(owner.getId(), token);
+        SyncDto bookerSync = syncService.read(booker.getId(), token);
+
+        assertFalse(ownerSync.isFull());
+        assertEquals(1, ownerSync.getItems().size());
+        assertEquals("Item1 Updated", ownerSync.getItems().get(0).getName());
+        assertEquals(1, bookerSync.getBookings().size());
+        assertEquals(BookingApproval.APPROVED, bookerSync.getBookings().get(0).getStatus());
+        assertEquals(0, bookerSync.getItems().size());
+    }
+
+    @Test
+    void read_whenBookerDeleted_thenOwnerGetsTombstone() {
+        BookingDtoOutput booking = bookingService.create(booker.getId(), new BookingDtoInput(0,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId()));
+        LocalDateTime token = syncService.read(owner.getId(), null).getToken();
+
+        userService.delete(booker.getId());
+
+        SyncDto sync = syncService.read(owner.getId(), token);
+
+        assertEquals(0, sync.getBookings().size());
+        assertEquals(List.of(new TombstoneDto(SyncEntityType.BOOKING, booking.getId())), sync.getDeleted());
+    }
+
+    @Test
+    void read_whenUserNotFound_thenNotFoundExceptionThrown() {
+        NotFoundException notFoundException = assertThrows(NotFoundException.class,
+                () -> syncService.read(999, null));
+
+        assertEquals("Пользователь с id " + 999 + " не найден", notFoundException.getMessage());
+    }
+}
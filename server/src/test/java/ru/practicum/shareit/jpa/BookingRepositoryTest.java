@@ -5,12 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -19,7 +23,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class BookingRepositoryTest {
@@ -29,6 +33,10 @@ public class BookingRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private BookingViewRepository bookingViewRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     User owner;
     User booker;
     Item item;
@@ -76,6 +84,7 @@ public class BookingRepositoryTest {
 
     @AfterEach
     void deleteItems() {
+        bookingViewRepository.deleteAll();
         bookingRepository.deleteAll();
         itemRepository.deleteAll();
         userRepository.deleteAll();
@@ -173,4 +182,41 @@ public class BookingRepositoryTest {
         assertEquals(booking.getStatus(), futureBookings.getContent().get(0).getStatus());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void existsOverlapping_whenApprovedBookingOverlaps_thenTrue() {
+        booking.setStart(LocalDateTime.of(2030, 1, 1, 10, 0));
+        booking.setEnd(LocalDateTime.of(2030, 1, 1, 12, 0));
+        booking.setStatus(BookingApproval.APPROVED);
+        bookingRepository.save(booking);
+
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), BookingApproval.APPROVED,
+                booking.getStart().plusMinutes(30), booking.getEnd().plusHours(1)));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), BookingApproval.APPROVED,
+                booking.getEnd(), booking.getEnd().plusHours(1)));
+    }
+
+
+    @Test
+    void saveBookingView_whenNew_thenPersistedWithoutMerge() {
+        BookingView view = BookingMapper.mapToBookingView(booking);
+
+        assertTrue(view.isNew());
+        assertSame(view, bookingViewRepository.save(view));
+
+        entityManager.flush();
+
+        assertFalse(view.isNew());
+    }
+
+    @Test
+    void saveBookingView_whenLoaded_thenNotNew() {
+        bookingViewRepository.saveAndFlush(BookingMapper.mapToBookingView(booking));
+        entityManager.clear();
+
+        BookingView view = bookingViewRepository.findAll().get(0);
+
+        assertFalse(view.isNew());
+        assertEquals(booking.getId(), view.getId());
+    }
+}
@@ -5,15 +5,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class ItemRepositoryTest {
@@ -21,6 +30,10 @@ public class ItemRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
     User owner;
     Item item;
     Pageable pageable;
@@ -49,10 +62,23 @@ public class ItemRepositoryTest {
 
     @AfterEach
     void deleteItems() {
+        bookingRepository.deleteAll();
         itemRepository.deleteAll();
         userRepository.deleteAll();
     }
 
+    @Test
+    void update_whenItemManagedBefore_thenUpdatedRowReturned() {
+        Item updated = itemRepository.update(item.getId(), owner.getId(), "Item1 Updated", null, false)
+                .orElseThrow();
+
+        assertEquals("Item1 Updated", updated.getName());
+        assertEquals("Item1 Description", updated.getDescription());
+        assertFalse(updated.getAvailable());
+        assertEquals("Item1 Updated", itemRepository.findById(item.getId()).orElseThrow().getName());
+        assertTrue(entityManager.getEntityManager().contains(owner));
+    }
+
     @Test
     void search() {
         Page<Item> items = itemRepository.search("description", pageable);
@@ -61,4 +87,68 @@ public class ItemRepositoryTest {
         assertEquals(item.getName(), items.getContent().get(0).getName());
         assertEquals(item.getDescription(), items.getContent().get(0).getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchAvailable_whenApprovedBookingOverlaps_thenItemExcluded() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        Booking booking = new Booking();
+
+        booking.setStart(start.plusDays(1));
+        booking.setEnd(end.plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(owner);
+        booking.setStatus(BookingApproval.APPROVED);
+
+        bookingRepository.save(booking);
+
+        assertEquals(0, itemRepository.searchAvailable("description", start, end, pageable)
+                .getContent().size());
+        assertEquals(1, itemRepository.searchAvailable("description", end.plusDays(1), end.plusDays(2), pageable)
+                .getContent().size());
+    }
+
+    @Test
+    void searchAvailable_whenOverlappingBookingNotApproved_thenItemIncluded() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+
+        Booking booking = new Booking();
+
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(owner);
+        booking.setStatus(BookingApproval.WAITING);
+
+        bookingRepository.save(booking);
+
+        Page<Item> items = itemRepository.searchAvailable("description", start, end, pageable);
+
+        assertEquals(1, items.getContent().size());
+        assertEquals(item.getName(), items.getContent().get(0).getName());
+    }
+
+    @Test
+    void update_whenOwnerMatches_thenOnlyGivenFieldsUpdated() {
+        Optional<Item> updated = itemRepository.update(item.getId(), owner.getId(), "Item1 Updated", null, false);
+
+        Item updatedItem = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertTrue(updated.isPresent());
+        assertEquals("Item1 Updated", updatedItem.getName());
+        assertEquals("Item1 Description", updatedItem.getDescription());
+        assertEquals(false, updatedItem.getAvailable());
+    }
+
+    @Test
+    void update_whenOwnerDiffers_thenNothingUpdated() {
+        Optional<Item> updated = itemRepository.update(item.getId(), owner.getId() + 1, "Item1 Updated", null, null);
+
+        Item notUpdatedItem = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertTrue(updated.isEmpty());
+        assertEquals("Item1", notUpdatedItem.getName());
+    }
+}
@@ -8,16 +8,20 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.FieldSetConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -29,6 +33,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = BookingController.class)
+@Import(FieldSetConfig.class)
 public class BookingControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
@@ -79,6 +84,22 @@ public class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(bookingDtoOutput), result);
     }
 
+    @Test
+    @SneakyThrows
+    void readIntakeTest() {
+        BookingHandleDto handle = new BookingHandleDto("handle", BookingIntakeStatus.CREATED, 1L, null);
+
+        Mockito.when(bookingService.readIntake(2L, "handle")).thenReturn(handle);
+
+        mockMvc.perform(get("/bookings/intake/{handle}", "handle")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.bookingId").value("1"));
+
+        Mockito.verify(bookingService).readIntake(2L, "handle");
+    }
+
     @Test
     @SneakyThrows
     void readTest() {
@@ -107,6 +128,24 @@ public class BookingControllerTest {
         Mockito.verify(bookingService).readAllBookerBookings(2L, "ALL", pageable);
     }
 
+    @Test
+    @SneakyThrows
+    void readAllBookerBookings_whenFieldsGiven_thenReturnedOnlyThoseFields() {
+        Mockito.when(bookingService.readAllBookerBookings(2L, "ALL", pageable))
+                .thenReturn(Collections.singletonList(bookingDtoOutput));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("fields", "id,status,item.id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(bookingDtoOutput.getId()))
+                .andExpect(jsonPath("$[0].status").exists())
+                .andExpect(jsonPath("$[0].item.id").value(bookingDtoOutput.getItem().getId()))
+                .andExpect(jsonPath("$[0].item.name").doesNotExist())
+                .andExpect(jsonPath("$[0].start").doesNotExist())
+                .andExpect(jsonPath("$[0].booker").doesNotExist());
+    }
+
     @Test
     @SneakyThrows
     void readAllOwnerItemBookingsTest() {
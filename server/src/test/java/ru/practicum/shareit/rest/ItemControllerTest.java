@@ -11,6 +11,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -103,7 +105,7 @@ public class ItemControllerTest {
         itemDtoWithComments2 = new ItemDtoWithComments(2, "Item2",
                 "Item2 Description", true, null, null, new ArrayList<>());
 
-        Mockito.when(itemService.readAll(1L, pageable))
+        Mockito.when(itemService.readAll(1L, pageable, FieldSet.ALL))
                 .thenReturn(Arrays.asList(itemDtoWithComments1, itemDtoWithComments2));
 
         mockMvc.perform(get("/items")
@@ -112,7 +114,7 @@ public class ItemControllerTest {
                 .andExpect(content().json(objectMapper
                         .writeValueAsString(Arrays.asList(itemDtoWithComments1, itemDtoWithComments2))));
 
-        Mockito.verify(itemService).readAll(1L, pageable);
+        Mockito.verify(itemService).readAll(1L, pageable, FieldSet.ALL);
     }
 
     @Test
@@ -157,6 +159,27 @@ public class ItemControllerTest {
         Mockito.verify(itemService).search("description", pageable);
     }
 
+    @Test
+    @SneakyThrows
+    void searchAvailableTest() {
+        itemDtoOutput = ItemMapper.mapToItemDtoOutput(item, null, null);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito.when(itemService.searchAvailable("description", start, end, pageable))
+                .thenReturn(Collections.singletonList(itemDtoOutput));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "description")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper
+                        .writeValueAsString(Collections.singletonList(itemDtoOutput))));
+
+        Mockito.verify(itemService).searchAvailable("description", start, end, pageable);
+    }
+
     @Test
     @SneakyThrows
     void createComment_whenCommentValid_thenStatus200AndReturnedComment() {
@@ -179,4 +202,24 @@ public class ItemControllerTest {
         assertEquals(objectMapper.writeValueAsString(commentDto), result);
     }
 
-}
\ No newline at end of file
+    @Test
+    @SneakyThrows
+    void readAvailabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1, from, to, new ArrayList<>(),
+                Collections.singletonList(new IntervalDto(from, to)));
+
+        Mockito.when(itemService.readAvailability(1L, 1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(availability)));
+
+        Mockito.verify(itemService).readAvailability(1L, 1L, from, to);
+    }
+
+}
@@ -8,18 +8,25 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.EtagFilterConfig;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UserController.class)
+@Import(EtagFilterConfig.class)
 public class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
@@ -71,6 +78,35 @@ public class UserControllerTest {
         Mockito.verify(userService).read(1);
     }
 
+    @Test
+    @SneakyThrows
+    void read_whenIfNoneMatchIsCurrent_thenStatus304() {
+        Mockito.when(userService.read(1L)).thenReturn(userDto1);
+
+        String etag = mockMvc.perform(get("/users/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/users/{id}", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @SneakyThrows
+    void read_whenUserNotFound_thenStatus404AndUnknownUserHeader() {
+        Mockito.when(userService.read(99L)).thenThrow(new UserNotFoundException(99L));
+
+        mockMvc.perform(get("/users/{id}", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Unknown-User-Id", "99"))
+                .andExpect(jsonPath("$.error").value("Пользователь с id 99 не найден"));
+    }
+
     @Test
     @SneakyThrows
     void readAllTest() {
@@ -85,6 +121,33 @@ public class UserControllerTest {
         Mockito.verify(userService).readAll();
     }
 
+    @Test
+    @SneakyThrows
+    void readAllByIdsTest() {
+        userDto2 = new UserDto(2, "User2", "user2@mail.ru");
+
+        Mockito.when(userService.readAllByIds(List.of(2L, 1L))).thenReturn(Arrays.asList(userDto2, userDto1));
+
+        mockMvc.perform(get("/users").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(Arrays.asList(userDto2, userDto1))));
+
+        Mockito.verify(userService, Mockito.never()).readAll();
+    }
+
+    @Test
+    @SneakyThrows
+    void readAllByIds_whenTooManyIds_thenStatus400() {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/users").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(userService);
+    }
+
     @Test
     @SneakyThrows
     void updateTest() {
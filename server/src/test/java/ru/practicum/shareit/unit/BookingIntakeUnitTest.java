@@ -0,0 +1,196 @@
+package ru.practicum.shareit.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingIntakeResult;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
+import ru.practicum.shareit.booking.repository.BookingIntakeResultRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.BookingIntake;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntakeUnitTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingViewRepository bookingViewRepository;
+    @Mock
+    private BookingIntakeResultRepository bookingIntakeResultRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final Map<String, BookingIntakeResult> storedResults = new ConcurrentHashMap<>();
+    private BookingIntake bookingIntake;
+    User owner;
+    User booker;
+    Item item;
+    BookingDtoInput bookingDtoInput;
+
+    @BeforeEach
+    void setUp() {
+        bookingIntake = new BookingIntake(bookingRepository, bookingViewRepository, bookingIntakeResultRepository,
+                userRepository, itemRepository, itemAvailabilityIndex, transactionManager, 10, 10,
+                Duration.ofMinutes(10));
+
+        owner = new User(1L, "User1", "user1@mail.ru");
+        booker = new User(2L, "User2", "user2@mail.ru");
+
+        item = new Item();
+
+        item.setId(1L);
+        item.setName("Item1");
+        item.setDescription("Item1 Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        bookingDtoInput = new BookingDtoInput(0, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item.getId());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bookingIntake.stop();
+    }
+
+    @Test
+    void submit_whenItemStillAvailable_thenBookingCreated() throws InterruptedException {
+        storeResults();
+        Mockito.when(itemRepository.findAllById(Mockito.anySet())).thenReturn(List.of(item));
+        Mockito.when(userRepository.getReferenceById(booker.getId())).thenReturn(booker);
+        Mockito.when(bookingRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+
+            bookings.forEach(booking -> booking.setId(5L));
+
+            return bookings;
+        });
+
+        BookingHandleDto result = await(bookingIntake.submit(booker.getId(), bookingDtoInput));
+
+        assertEquals(BookingIntakeStatus.CREATED, result.getStatus());
+        assertEquals(5L, result.getBookingId());
+    }
+
+    @Test
+    void submit_whenItemWithdrawnWhileQueued_thenFailed() throws InterruptedException {
+        item.setAvailable(false);
+
+        storeResults();
+        Mockito.when(itemRepository.findAllById(Mockito.anySet())).thenReturn(List.of(item));
+
+        BookingHandleDto result = await(bookingIntake.submit(booker.getId(), bookingDtoInput));
+
+        assertEquals(BookingIntakeStatus.FAILED, result.getStatus());
+        assertNull(result.getBookingId());
+        assertEquals("Вещь с id 1 недоступна к бронированию", result.getError());
+        Mockito.verify(bookingRepository).saveAll(List.of());
+    }
+
+    @Test
+    void submit_whenItemDeletedWhileQueued_thenFailed() throws InterruptedException {
+        storeResults();
+        Mockito.when(itemRepository.findAllById(Mockito.anySet())).thenReturn(List.of());
+
+        BookingHandleDto result = await(bookingIntake.submit(booker.getId(), bookingDtoInput));
+
+        assertEquals(BookingIntakeStatus.FAILED, result.getStatus());
+        assertEquals("Вещь с id 1 не найдена", result.getError());
+    }
+
+    @Test
+    void find_whenOtherBooker_thenNotFound() throws InterruptedException {
+        storeResults();
+        Mockito.when(itemRepository.findAllById(Mockito.anySet())).thenReturn(List.of());
+
+        BookingHandleDto handle = bookingIntake.submit(booker.getId(), bookingDtoInput);
+
+        await(handle);
+
+        assertTrue(bookingIntake.find(owner.getId(), handle.getHandle()).isEmpty());
+    }
+
+    @Test
+    void submit_whenResultCannotBeStored_thenKeptInInstance() throws InterruptedException {
+        Mockito.when(itemRepository.findAllById(Mockito.anySet())).thenReturn(List.of());
+        Mockito.when(bookingIntakeResultRepository.saveAll(Mockito.anyList()))
+                .thenThrow(new IllegalStateException("Connection reset"));
+        Mockito.when(bookingIntakeResultRepository.save(Mockito.any()))
+                .thenThrow(new IllegalStateException("Connection reset"));
+
+        BookingHandleDto result = await(bookingIntake.submit(booker.getId(), bookingDtoInput));
+
+        assertEquals(BookingIntakeStatus.FAILED, result.getStatus());
+        assertEquals("Connection reset", result.getError());
+    }
+
+    @Test
+    void deleteExpiredResults_whenCalled_thenResultsOlderThanRetentionDeleted() {
+        Mockito.when(transactionManager.getTransaction(Mockito.any())).thenReturn(null);
+        Mockito.when(bookingIntakeResultRepository.deleteAllCompletedBefore(Mockito.any())).thenReturn(2);
+
+        LocalDateTime before = LocalDateTime.now().minusMinutes(10);
+
+        bookingIntake.deleteExpiredResults();
+
+        Mockito.verify(bookingIntakeResultRepository).deleteAllCompletedBefore(Mockito.argThat(completedBefore ->
+                !completedBefore.isBefore(before) && completedBefore.isBefore(LocalDateTime.now().minusMinutes(9))));
+    }
+
+    private BookingHandleDto await(BookingHandleDto handle) throws InterruptedException {
+        BookingHandleDto result = handle;
+
+        for (int i = 0; i < 100 && result.getStatus() == BookingIntakeStatus.QUEUED; i++) {
+            Thread.sleep(50);
+            result = bookingIntake.find(booker.getId(), handle.getHandle()).orElseThrow();
+        }
+
+        return result;
+    }
+
+    /**
+     * Completed handles are answered from the stored results, so they are kept in a map.
+     */
+    private void storeResults() {
+        Mockito.when(bookingIntakeResultRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<BookingIntakeResult> results = invocation.getArgument(0);
+
+            results.forEach(result -> storedResults.put(result.getHandle(), result));
+
+            return results;
+        });
+        Mockito.when(bookingIntakeResultRepository.findByHandleAndBookerId(Mockito.anyString(), Mockito.anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedResults.get(invocation.<String>getArgument(0)))
+                        .filter(result -> result.getBookerId() == invocation.<Long>getArgument(1)));
+    }
+}
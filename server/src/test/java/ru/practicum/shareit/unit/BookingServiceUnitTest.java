@@ -12,11 +12,17 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoOutput;
+import ru.practicum.shareit.booking.dto.BookingHandleDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.model.BookingIntakeStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.BookingIntake;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDtoInput;
@@ -30,6 +36,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -39,9 +46,15 @@ public class BookingServiceUnitTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private BookingViewRepository bookingViewRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Mock
+    private BookingIntake bookingIntake;
     @InjectMocks
     private BookingServiceImpl bookingService;
     User user1;
@@ -152,14 +165,29 @@ public class BookingServiceUnitTest {
                 itemAvailabilityException.getMessage());
     }
 
+    @Test
+    void create_whenApprovedBookingOverlaps_thenItemAvailabilityExceptionThrown() {
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        Mockito.when(bookingRepository.existsOverlapping(1L, BookingApproval.APPROVED,
+                currentBooking.getStart(), currentBooking.getEnd())).thenReturn(true);
+
+        ItemAvailabilityException itemAvailabilityException = assertThrows(ItemAvailabilityException.class,
+                () -> bookingService.create(2, currentBooking));
+
+        assertEquals("Вещь с id " + currentBooking.getItemId() + " уже забронирована на этот период",
+                itemAvailabilityException.getMessage());
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
+    }
+
     @Test
     void read_whenAllIsOk_thenReturnedBooking() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
+        Mockito.when(bookingRepository.findWithItemAndBookerById(1L)).thenReturn(Optional.of(booking1));
 
         BookingDtoOutput returnedBooking = bookingService.read(2, 1);
 
-        Mockito.verify(bookingRepository).findById(1L);
+        Mockito.verify(bookingRepository).findWithItemAndBookerById(1L);
 
         assertEquals(currentBooking.getStart(), returnedBooking.getStart());
         assertEquals(currentBooking.getEnd(), returnedBooking.getEnd());
@@ -179,7 +207,7 @@ public class BookingServiceUnitTest {
     @Test
     void read_whenBookingNotFound_thenNotFoundExceptionThrown() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+        Mockito.when(bookingRepository.findWithItemAndBookerById(999L)).thenReturn(Optional.empty());
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
                 () -> bookingService.read(2, 999));
@@ -191,7 +219,7 @@ public class BookingServiceUnitTest {
     void read_whenUserNotOwnerOrBooker_thenNotFoundExceptionThrown() {
         Mockito.when(userRepository.findById(3L))
                 .thenReturn(Optional.of(new User(3, "User3", "user3@mail.ru")));
-        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
+        Mockito.when(bookingRepository.findWithItemAndBookerById(1L)).thenReturn(Optional.of(booking1));
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
                 () -> bookingService.read(3, 1));
@@ -203,13 +231,13 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenAllState_thenReturnAllBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.findAllByBooker_IdOrderByStartDesc(pageable, 2))
-                .thenReturn(new PageImpl<>(Arrays.asList(booking1, booking2, booking3)));
+        Mockito.when(bookingViewRepository.findAllByBookerIdOrderByStartDesc(pageable, 2))
+                .thenReturn(new PageImpl<>(mapToViews(booking1, booking2, booking3)));
 
         List<BookingDtoOutput> allBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "ALL", pageable));
 
-        Mockito.verify(bookingRepository).findAllByBooker_IdOrderByStartDesc(pageable, 2);
+        Mockito.verify(bookingViewRepository).findAllByBookerIdOrderByStartDesc(pageable, 2);
 
         assertEquals(3, allBookings.size());
     }
@@ -217,13 +245,13 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenCurrentState_thenReturnCurrentBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.readAllBookerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking1)));
+        Mockito.when(bookingViewRepository.readAllBookerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking1)));
 
         List<BookingDtoOutput> currentBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "CURRENT", pageable));
 
-        Mockito.verify(bookingRepository).readAllBookerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(bookingViewRepository).readAllBookerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, currentBookings.size());
         assertEquals(currentBooking.getStart(), currentBookings.get(0).getStart());
@@ -234,13 +262,13 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenPastState_thenReturnPastBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.readAllBookerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking2)));
+        Mockito.when(bookingViewRepository.readAllBookerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking2)));
 
         List<BookingDtoOutput> pastBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "PAST", pageable));
 
-        Mockito.verify(bookingRepository).readAllBookerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(bookingViewRepository).readAllBookerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, pastBookings.size());
         assertEquals(pastBooking.getStart(), pastBookings.get(0).getStart());
@@ -251,13 +279,13 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenFutureState_thenReturnFutureBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository.readAllBookerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking3)));
+        Mockito.when(bookingViewRepository.readAllBookerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking3)));
 
         List<BookingDtoOutput> futureBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "FUTURE", pageable));
 
-        Mockito.verify(bookingRepository).readAllBookerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(bookingViewRepository).readAllBookerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, futureBookings.size());
         assertEquals(futureBooking.getStart(), futureBookings.get(0).getStart());
@@ -268,15 +296,15 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenWaitingState_thenReturnWaitingBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository
-                        .findAllByBooker_IdAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Arrays.asList(booking1, booking2)));
+        Mockito.when(bookingViewRepository
+                        .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking1, booking2)));
 
         List<BookingDtoOutput> waitingBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "WAITING", pageable));
 
-        Mockito.verify(bookingRepository)
-                .findAllByBooker_IdAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(2, waitingBookings.size());
 
@@ -292,15 +320,15 @@ public class BookingServiceUnitTest {
     @Test
     void readAllBookerBookings_whenRejectedState_thenReturnRejectedBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(bookingRepository
-                        .findAllByBooker_IdAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking3)));
+        Mockito.when(bookingViewRepository
+                        .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking3)));
 
         List<BookingDtoOutput> rejectedBookings = new ArrayList<>(bookingService
                 .readAllBookerBookings(2, "REJECTED", pageable));
 
-        Mockito.verify(bookingRepository)
-                .findAllByBooker_IdAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .findAllByBookerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, rejectedBookings.size());
         assertEquals(futureBooking.getStart(), rejectedBookings.get(0).getStart());
@@ -322,15 +350,13 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenAllState_thenReturnAllBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository.findAllByItem_IdInOrderByStartDesc(Mockito.any(), Mockito.anyList()))
-                .thenReturn(new PageImpl<>(Arrays.asList(booking1, booking2, booking3)));
+        Mockito.when(bookingViewRepository.findAllByOwnerIdOrderByStartDesc(Mockito.any(), Mockito.anyLong()))
+                .thenReturn(new PageImpl<>(mapToViews(booking1, booking2, booking3)));
 
         List<BookingDtoOutput> allBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "ALL", pageable));
 
-        Mockito.verify(bookingRepository).findAllByItem_IdInOrderByStartDesc(Mockito.any(), Mockito.anyList());
+        Mockito.verify(bookingViewRepository).findAllByOwnerIdOrderByStartDesc(Mockito.any(), Mockito.anyLong());
 
         assertEquals(3, allBookings.size());
     }
@@ -339,17 +365,15 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenCurrentState_thenReturnCurrentBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository
-                        .readAllOwnerItemsCurrentBookings(Mockito.any(), Mockito.anyList(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking1)));
+        Mockito.when(bookingViewRepository
+                        .readAllOwnerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking1)));
 
         List<BookingDtoOutput> currentBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "CURRENT", pageable));
 
-        Mockito.verify(bookingRepository)
-                .readAllOwnerItemsCurrentBookings(Mockito.any(), Mockito.anyList(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .readAllOwnerCurrentBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, currentBookings.size());
         assertEquals(currentBooking.getStart(), currentBookings.get(0).getStart());
@@ -361,17 +385,15 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenPastState_thenReturnPastBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository
-                        .readAllOwnerItemsPastBookings(Mockito.any(), Mockito.anyList(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking2)));
+        Mockito.when(bookingViewRepository
+                        .readAllOwnerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking2)));
 
         List<BookingDtoOutput> pastBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "PAST", pageable));
 
-        Mockito.verify(bookingRepository)
-                .readAllOwnerItemsPastBookings(Mockito.any(), Mockito.anyList(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .readAllOwnerPastBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, pastBookings.size());
         assertEquals(pastBooking.getStart(), pastBookings.get(0).getStart());
@@ -383,17 +405,15 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenFutureState_thenReturnFutureBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository
-                        .readAllOwnerItemsFutureBookings(Mockito.any(), Mockito.anyList(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking3)));
+        Mockito.when(bookingViewRepository
+                        .readAllOwnerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking3)));
 
         List<BookingDtoOutput> futureBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "FUTURE", pageable));
 
-        Mockito.verify(bookingRepository)
-                .readAllOwnerItemsFutureBookings(Mockito.any(), Mockito.anyList(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .readAllOwnerFutureBookings(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, futureBookings.size());
         assertEquals(futureBooking.getStart(), futureBookings.get(0).getStart());
@@ -405,17 +425,15 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenWaitingState_thenReturnWaitingBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository
-                        .findAllByItem_IdInAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyList(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Arrays.asList(booking1, booking2)));
+        Mockito.when(bookingViewRepository
+                        .findAllByOwnerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking1, booking2)));
 
         List<BookingDtoOutput> waitingBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "WAITING", pageable));
 
-        Mockito.verify(bookingRepository)
-                .findAllByItem_IdInAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyList(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .findAllByOwnerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(2, waitingBookings.size());
 
@@ -432,17 +450,15 @@ public class BookingServiceUnitTest {
     void readAllOwnerItemBookings_whenRejectedState_thenReturnRejectedBookings() {
         Mockito.when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user1));
-        Mockito.when(itemRepository.findAllByOwnerId(1L))
-                .thenReturn(Arrays.asList(item1, item2));
-        Mockito.when(bookingRepository
-                        .findAllByItem_IdInAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyList(), Mockito.any()))
-                .thenReturn(new PageImpl<>(Collections.singletonList(booking3)));
+        Mockito.when(bookingViewRepository
+                        .findAllByOwnerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any()))
+                .thenReturn(new PageImpl<>(mapToViews(booking3)));
 
         List<BookingDtoOutput> rejectedBookings = new ArrayList<>(bookingService
                 .readAllOwnerItemBookings(1, "WAITING", pageable));
 
-        Mockito.verify(bookingRepository)
-                .findAllByItem_IdInAndStatusInOrderByStartDesc(Mockito.any(), Mockito.anyList(), Mockito.any());
+        Mockito.verify(bookingViewRepository)
+                .findAllByOwnerIdAndStatusOrderByStartDesc(Mockito.any(), Mockito.anyLong(), Mockito.any());
 
         assertEquals(1, rejectedBookings.size());
         assertEquals(futureBooking.getStart(), rejectedBookings.get(0).getStart());
@@ -462,34 +478,48 @@ public class BookingServiceUnitTest {
 
     @Test
     void updateApproval_whenBookingAvailable_thenApprovedBooking() {
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
-        Mockito.when(bookingRepository.save(Mockito.any()))
-                .thenReturn(BookingMapper.mapToBooking(currentBooking, item1, user2, BookingApproval.APPROVED));
+        booking1.setStatus(BookingApproval.APPROVED);
+
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(1L), Mockito.eq(1L),
+                Mockito.eq(BookingApproval.APPROVED), Mockito.any()))
+                .thenReturn(1);
+        Mockito.when(bookingViewRepository.updateStatus(Mockito.eq(1L), Mockito.eq(BookingApproval.APPROVED), Mockito.any()))
+                .thenReturn(Optional.of(BookingMapper.mapToBookingView(booking1)));
 
         BookingDtoOutput updatedBooking = bookingService.updateApproval(1, 1, true);
 
-        Mockito.verify(bookingRepository).save(Mockito.any());
+        Mockito.verify(bookingRepository).updateStatus(Mockito.eq(1L), Mockito.eq(1L),
+                Mockito.eq(BookingApproval.APPROVED), Mockito.any());
+        Mockito.verify(bookingViewRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
 
         assertEquals(BookingApproval.APPROVED, updatedBooking.getStatus());
     }
 
     @Test
     void updateApproval_whenBookingNotAvailable_thenRejectedBooking() {
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
-        Mockito.when(bookingRepository.save(Mockito.any()))
-                .thenReturn(BookingMapper.mapToBooking(currentBooking, item1, user2, BookingApproval.REJECTED));
+        booking1.setStatus(BookingApproval.REJECTED);
+
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(1L), Mockito.eq(1L),
+                Mockito.eq(BookingApproval.REJECTED), Mockito.any()))
+                .thenReturn(1);
+        Mockito.when(bookingViewRepository.updateStatus(Mockito.eq(1L), Mockito.eq(BookingApproval.REJECTED), Mockito.any()))
+                .thenReturn(Optional.of(BookingMapper.mapToBookingView(booking1)));
 
         BookingDtoOutput updatedBooking = bookingService.updateApproval(1, 1, false);
 
-        Mockito.verify(bookingRepository).save(Mockito.any());
+        Mockito.verify(bookingRepository).updateStatus(Mockito.eq(1L), Mockito.eq(1L),
+                Mockito.eq(BookingApproval.REJECTED), Mockito.any());
+        Mockito.verify(bookingViewRepository, Mockito.never()).findById(Mockito.anyLong());
 
         assertEquals(BookingApproval.REJECTED, updatedBooking.getStatus());
     }
 
     @Test
     void updateApproval_whenOwnerNotFound_thenNotFoundExceptionThrown() {
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(1L), Mockito.eq(999L),
+                Mockito.eq(BookingApproval.APPROVED), Mockito.any()))
+                .thenReturn(0);
         Mockito.when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
@@ -500,6 +530,9 @@ public class BookingServiceUnitTest {
 
     @Test
     void updateApproval_whenBookingNotFound_thenNotFoundExceptionThrown() {
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(999L), Mockito.eq(1L),
+                Mockito.eq(BookingApproval.APPROVED), Mockito.any()))
+                .thenReturn(0);
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
         Mockito.when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
 
@@ -511,6 +544,9 @@ public class BookingServiceUnitTest {
 
     @Test
     void updateApproval_whenUserNotOwner_thenNotFoundExceptionThrown() {
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(1L), Mockito.eq(2L),
+                Mockito.eq(BookingApproval.APPROVED), Mockito.any()))
+                .thenReturn(0);
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
         Mockito.when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking1));
 
@@ -523,6 +559,8 @@ public class BookingServiceUnitTest {
 
     @Test
     void updateApproval_whenBookingApproved_thenItemAvailabilityExceptionThrown() {
+        Mockito.when(bookingRepository.updateStatus(Mockito.eq(1L), Mockito.eq(1L), Mockito.any(), Mockito.any()))
+                .thenReturn(0);
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
 
         booking1.setStatus(BookingApproval.APPROVED);
@@ -539,4 +577,47 @@ public class BookingServiceUnitTest {
 
         assertEquals("Бронирование уже подтверждено", itemAvailabilityException.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void enqueue_whenAllIsOk_thenReturnedQueuedHandle() {
+        BookingHandleDto handle = new BookingHandleDto("handle", BookingIntakeStatus.QUEUED, null, null);
+
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        Mockito.when(bookingIntake.submit(2L, currentBooking)).thenReturn(handle);
+
+        BookingHandleDto returnedHandle = bookingService.enqueue(2, currentBooking);
+
+        Mockito.verify(bookingIntake).submit(2L, currentBooking);
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
+
+        assertEquals(handle, returnedHandle);
+    }
+
+    @Test
+    void enqueue_whenItemUnavailable_thenItemAvailabilityExceptionThrown() {
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        item1.setAvailable(false);
+        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+
+        assertThrows(ItemAvailabilityException.class, () -> bookingService.enqueue(2, currentBooking));
+
+        Mockito.verifyNoInteractions(bookingIntake);
+    }
+
+    @Test
+    void readIntake_whenHandleNotFound_thenNotFoundExceptionThrown() {
+        Mockito.when(bookingIntake.find(2L, "unknown")).thenReturn(Optional.empty());
+
+        NotFoundException notFoundException = assertThrows(NotFoundException.class,
+                () -> bookingService.readIntake(2, "unknown"));
+
+        assertEquals("Заявка на бронирование unknown не найдена", notFoundException.getMessage());
+    }
+
+    private static List<BookingView> mapToViews(Booking... bookings) {
+        return Arrays.stream(bookings)
+                .map(BookingMapper::mapToBookingView)
+                .collect(Collectors.toList());
+    }
+}
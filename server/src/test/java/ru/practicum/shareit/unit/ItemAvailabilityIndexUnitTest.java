@@ -0,0 +1,92 @@
+package ru.practicum.shareit.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingApproval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityIndexUnitTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2030, 2, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        Item item = new Item();
+        item.setId(1L);
+
+        booking = new Booking(1L, FROM.plusDays(1), FROM.plusDays(2), item, null, BookingApproval.WAITING);
+    }
+
+    @Test
+    void findBusy_whenTreeCached_thenLoadedOnce() {
+        Mockito.when(bookingRepository.findAllByItem_IdAndStatusIn(Mockito.eq(1L), Mockito.anyList()))
+                .thenReturn(List.of(booking));
+
+        itemAvailabilityIndex.findBusy(1L, FROM, TO);
+        List<?> busy = itemAvailabilityIndex.findBusy(1L, FROM, TO);
+
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findAllByItem_IdAndStatusIn(Mockito.eq(1L), Mockito.anyList());
+
+        assertEquals(1, busy.size());
+    }
+
+    @Test
+    void findBusy_whenBookingSavedDuringLoad_thenTreeReloaded() {
+        Mockito.when(bookingRepository.findAllByItem_IdAndStatusIn(Mockito.eq(1L), Mockito.anyList()))
+                .thenAnswer(invocation -> {
+                    itemAvailabilityIndex.onBookingSaved(booking);
+                    return List.of();
+                })
+                .thenReturn(List.of(booking));
+
+        assertTrue(itemAvailabilityIndex.findBusy(1L, FROM, TO).isEmpty());
+        assertEquals(1, itemAvailabilityIndex.findBusy(1L, FROM, TO).size());
+    }
+
+    @Test
+    void findBusy_whenEvictedDuringLoad_thenTreeReloaded() {
+        Mockito.when(bookingRepository.findAllByItem_IdAndStatusIn(Mockito.eq(1L), Mockito.anyList()))
+                .thenAnswer(invocation -> {
+                    itemAvailabilityIndex.evictAll();
+                    return List.of(booking);
+                })
+                .thenReturn(List.of());
+
+        assertEquals(1, itemAvailabilityIndex.findBusy(1L, FROM, TO).size());
+        assertTrue(itemAvailabilityIndex.findBusy(1L, FROM, TO).isEmpty());
+    }
+
+    @Test
+    void onBookingSaved_whenTreeCached_thenTreeUpdated() {
+        Mockito.when(bookingRepository.findAllByItem_IdAndStatusIn(Mockito.eq(1L), Mockito.anyList()))
+                .thenReturn(List.of(booking));
+
+        itemAvailabilityIndex.findBusy(1L, FROM, TO);
+        booking.setStatus(BookingApproval.REJECTED);
+        itemAvailabilityIndex.onBookingSaved(booking);
+
+        assertTrue(itemAvailabilityIndex.findBusy(1L, FROM, TO).isEmpty());
+    }
+}
@@ -12,13 +12,17 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingApproval;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ItemAvailabilityException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.fieldset.FieldSet;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -51,9 +55,13 @@ public class ItemServiceUnitTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private BookingViewRepository bookingViewRepository;
+    @Mock
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private CommentRepository commentRepository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
     @InjectMocks
     private ItemServiceImpl itemService;
     UserDto userDto1;
@@ -156,7 +164,7 @@ public class ItemServiceUnitTest {
     @Test
     void read_whenAllIsOkAndUserIsNotItemOwner_thenReturnedItemWithNullNextAndLastBookings() {
         Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
-        Mockito.when(commentRepository.findAllByItemId(1L)).thenReturn(new ArrayList<>());
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(1L))).thenReturn(new ArrayList<>());
         Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
 
         ItemDtoWithComments returnedItem = itemService.read(2, 1);
@@ -195,8 +203,9 @@ public class ItemServiceUnitTest {
     @Test
     void read_whenUserIsItemOwner_thenReturnedItemWithLastAndNextBookings() {
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        Mockito.when(bookingRepository.findAllByItem_Id(1L)).thenReturn(bookings);
-        Mockito.when(commentRepository.findAllByItemId(1L)).thenReturn(new ArrayList<>());
+        Mockito.when(bookingRepository.findAllByItem_IdInAndStatus(List.of(1L), BookingApproval.APPROVED))
+                .thenReturn(bookings);
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(1L))).thenReturn(new ArrayList<>());
         Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
 
         ItemDtoWithComments returnedItem = itemService.read(1, 1);
@@ -216,11 +225,12 @@ public class ItemServiceUnitTest {
     @Test
     void readAll_whenAllIsOk_thenReturnedItemCollection() {
         Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        Mockito.when(bookingRepository.findAllByItem_Id(1L)).thenReturn(bookings);
-        Mockito.when(commentRepository.findAllByItemId(1L)).thenReturn(new ArrayList<>());
+        Mockito.when(bookingRepository.findAllByItem_IdInAndStatus(List.of(1L, 2L), BookingApproval.APPROVED))
+                .thenReturn(bookings);
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(1L, 2L))).thenReturn(new ArrayList<>());
         Mockito.when(itemRepository.findAllByOwnerId(1L, pageable)).thenReturn(items);
 
-        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAll(1, pageable));
+        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAll(1, pageable, FieldSet.ALL));
 
         Mockito.verify(itemRepository).findAllByOwnerId(1L, pageable);
 
@@ -241,12 +251,28 @@ public class ItemServiceUnitTest {
         assertNull(returnedItems.get(1).getNextBooking());
     }
 
+    @Test
+    void readAll_whenFieldsExcludeBookingsAndComments_thenTheyAreNotQueried() {
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        Mockito.when(itemRepository.findAllByOwnerId(1L, pageable)).thenReturn(items);
+
+        List<ItemDtoWithComments> returnedItems = new ArrayList<>(itemService.readAll(1, pageable,
+                FieldSet.parse("id,name")));
+
+        Mockito.verifyNoInteractions(bookingRepository, commentRepository);
+
+        assertEquals(items.getContent().get(0).getId(), returnedItems.get(0).getId());
+        assertNull(returnedItems.get(0).getLastBooking());
+        assertNull(returnedItems.get(0).getNextBooking());
+        assertEquals(0, returnedItems.get(0).getComments().size());
+    }
+
     @Test
     void readAll_whenOwnerNotFound_thenNotFoundExceptionThrown() {
         Mockito.when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
-                () -> itemService.readAll(999, pageable));
+                () -> itemService.readAll(999, pageable, FieldSet.ALL));
 
         assertEquals("Пользователь с id " + 999 + " не найден", notFoundException.getMessage());
     }
@@ -256,13 +282,15 @@ public class ItemServiceUnitTest {
         updatedItemDtoInput = new ItemDtoInput(1L, "Item1 Updated",
                 "Item1 Description Updated", false, 0);
 
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        Mockito.when(itemRepository.save(Mockito.any())).thenReturn(ItemMapper
-                .mapToItem(updatedItemDtoInput, user1, null));
+        Mockito.when(itemRepository.update(1L, 1L, "Item1 Updated", "Item1 Description Updated", false))
+                .thenReturn(Optional.of(ItemMapper.mapToItem(updatedItemDtoInput, user1, null)));
 
         ItemDtoWithRequestId updatedItem = itemService.update(1, updatedItemDtoInput, 1);
 
-        Mockito.verify(itemRepository).save(Mockito.any());
+        Mockito.verify(itemRepository).update(1L, 1L, "Item1 Updated", "Item1 Description Updated", false);
+        Mockito.verify(itemRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(bookingViewRepository).updateItem(Mockito.eq(1L), Mockito.eq("Item1 Updated"),
+                Mockito.eq("Item1 Description Updated"), Mockito.eq(false), Mockito.any());
 
         assertEquals(updatedItemDtoInput.getName(), updatedItem.getName());
         assertEquals(updatedItemDtoInput.getDescription(), updatedItem.getDescription());
@@ -271,7 +299,10 @@ public class ItemServiceUnitTest {
 
     @Test
     void update_whenItemNotFound_thenNotFoundExceptionThrown() {
-        Mockito.when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+        updatedItemDtoInput = new ItemDtoInput();
+
+        Mockito.when(itemRepository.update(999L, 1L, null, null, null)).thenReturn(Optional.empty());
+        Mockito.when(itemRepository.existsById(999L)).thenReturn(false);
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
                 () -> itemService.update(1, updatedItemDtoInput, 999));
@@ -281,12 +312,16 @@ public class ItemServiceUnitTest {
 
     @Test
     void update_whenUserIsNotOwner_thenAccessDeniedExceptionThrown() {
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
+        updatedItemDtoInput = new ItemDtoInput();
+
+        Mockito.when(itemRepository.update(1L, 2L, null, null, null)).thenReturn(Optional.empty());
+        Mockito.when(itemRepository.existsById(1L)).thenReturn(true);
 
         AccessDeniedException accessDeniedException = assertThrows(AccessDeniedException.class,
                 () -> itemService.update(2, updatedItemDtoInput, 1));
 
         assertEquals("Нет прав для редактирования вещи", accessDeniedException.getMessage());
+        Mockito.verify(itemRepository, Mockito.never()).findById(Mockito.anyLong());
     }
 
     @Test
@@ -299,13 +334,12 @@ public class ItemServiceUnitTest {
         ItemDtoInput updatedItemDto = new ItemDtoInput(1, "Item1",
                 "Item1 Description Updated", false, 0);
 
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        Mockito.when(itemRepository.save(Mockito.any()))
-                .thenReturn(ItemMapper.mapToItem(updatedItemDto, user1, null));
+        Mockito.when(itemRepository.update(1L, 1L, null, "Item1 Description Updated", false))
+                .thenReturn(Optional.of(ItemMapper.mapToItem(updatedItemDto, user1, null)));
 
         ItemDtoWithRequestId updatedItem = itemService.update(1, itemDtoInputWithoutName, 1);
 
-        Mockito.verify(itemRepository).save(Mockito.any());
+        Mockito.verify(itemRepository).update(1L, 1L, null, "Item1 Description Updated", false);
 
         assertEquals(item1.getName(), updatedItem.getName());
         assertEquals(itemDtoInputWithoutName.getDescription(), updatedItem.getDescription());
@@ -322,13 +356,12 @@ public class ItemServiceUnitTest {
         ItemDtoInput updatedItemDto = new ItemDtoInput(1, "Item1 Updated",
                 "Item1 Description", false, 0);
 
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        Mockito.when(itemRepository.save(Mockito.any())).thenReturn(ItemMapper
-                .mapToItem(updatedItemDto, user1, null));
+        Mockito.when(itemRepository.update(1L, 1L, "Item1 Updated", null, false))
+                .thenReturn(Optional.of(ItemMapper.mapToItem(updatedItemDto, user1, null)));
 
         ItemDtoWithRequestId updatedItem = itemService.update(1, itemDtoInputWithoutDescription, 1);
 
-        Mockito.verify(itemRepository).save(Mockito.any());
+        Mockito.verify(itemRepository).update(1L, 1L, "Item1 Updated", null, false);
 
         assertEquals(itemDtoInputWithoutDescription.getName(), updatedItem.getName());
         assertEquals(item1.getDescription(), updatedItem.getDescription());
@@ -345,13 +378,12 @@ public class ItemServiceUnitTest {
         ItemDtoInput updatedItemDto = new ItemDtoInput(1, "Item1 Updated",
                 "Item1 Description Updated", true, 0);
 
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        Mockito.when(itemRepository.save(Mockito.any())).thenReturn(ItemMapper
-                .mapToItem(updatedItemDto, user1, null));
+        Mockito.when(itemRepository.update(1L, 1L, "Item1 Updated", "Item1 Description Updated", null))
+                .thenReturn(Optional.of(ItemMapper.mapToItem(updatedItemDto, user1, null)));
 
         ItemDtoWithRequestId updatedItem = itemService.update(1, itemDtoInputWithoutAvailable, 1);
 
-        Mockito.verify(itemRepository).save(Mockito.any());
+        Mockito.verify(itemRepository).update(1L, 1L, "Item1 Updated", "Item1 Description Updated", null);
 
         assertEquals(itemDtoInputWithoutAvailable.getName(), updatedItem.getName());
         assertEquals(itemDtoInputWithoutAvailable.getDescription(), updatedItem.getDescription());
@@ -362,12 +394,12 @@ public class ItemServiceUnitTest {
     void update_whenItemNameAndDescriptionAndAvailableAreNull_thenNothingToUpdate() {
         ItemDtoInput itemDtoInputNothingToUpdate = new ItemDtoInput();
 
-        Mockito.when(itemRepository.findById(1L)).thenReturn(Optional.of(item1));
-        Mockito.when(itemRepository.save(Mockito.any())).thenReturn(item1);
+        Mockito.when(itemRepository.update(1L, 1L, null, null, null))
+                .thenReturn(Optional.of(item1));
 
         ItemDtoWithRequestId updatedItem = itemService.update(1, itemDtoInputNothingToUpdate, 1);
 
-        Mockito.verify(itemRepository).save(Mockito.any());
+        Mockito.verify(itemRepository).update(1L, 1L, null, null, null);
 
         assertEquals(item1.getName(), updatedItem.getName());
         assertEquals(item1.getDescription(), updatedItem.getDescription());
@@ -458,4 +490,67 @@ public class ItemServiceUnitTest {
         assertEquals("Отзыв можно оставить только после состоявшегося бронирования",
                 itemAvailabilityException.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void readAvailability_whenAllIsOk_thenReturnedBusyAndFreeIntervals() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(3);
+        IntervalDto busyInterval = new IntervalDto(from.plusDays(1), from.plusDays(2));
+
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.existsById(1L)).thenReturn(true);
+        Mockito.when(itemAvailabilityIndex.findBusy(1L, from, to)).thenReturn(List.of(busyInterval));
+
+        ItemAvailabilityDto availability = itemService.readAvailability(2, 1, from, to);
+
+        assertEquals(List.of(busyInterval), availability.getBusy());
+        assertEquals(List.of(new IntervalDto(from, from.plusDays(1)), new IntervalDto(from.plusDays(2), to)),
+                availability.getFree());
+    }
+
+    @Test
+    void readAvailability_whenItemNotFound_thenNotFoundExceptionThrown() {
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.existsById(999L)).thenReturn(false);
+
+        NotFoundException notFoundException = assertThrows(NotFoundException.class,
+                () -> itemService.readAvailability(2, 999, LocalDateTime.now(), LocalDateTime.now().plusDays(1)));
+
+        assertEquals("Вещь с id " + 999 + " не найдена", notFoundException.getMessage());
+    }
+
+    @Test
+    void readAvailability_whenEndBeforeStart_thenItemAvailabilityExceptionThrown() {
+        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        Mockito.when(itemRepository.existsById(1L)).thenReturn(true);
+
+        ItemAvailabilityException itemAvailabilityException = assertThrows(ItemAvailabilityException.class,
+                () -> itemService.readAvailability(2, 1, LocalDateTime.now(), LocalDateTime.now().minusDays(1)));
+
+        assertEquals("Конец периода должен быть позже его начала", itemAvailabilityException.getMessage());
+    }
+
+    @Test
+    void searchAvailable_whenPeriodIsValid_thenReturnedSuitableItem() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+
+        Mockito.when(itemRepository.searchAvailable("description", start, end, pageable)).thenReturn(items);
+
+        List<ItemDtoOutput> returnedItems = new ArrayList<>(itemService
+                .searchAvailable("description", start, end, pageable));
+
+        Mockito.verify(itemRepository).searchAvailable("description", start, end, pageable);
+
+        assertEquals(2, returnedItems.size());
+        assertEquals(items.getContent().get(0).getId(), returnedItems.get(0).getId());
+    }
+
+    @Test
+    void searchAvailable_whenEndIsMissing_thenItemAvailabilityExceptionThrown() {
+        ItemAvailabilityException itemAvailabilityException = assertThrows(ItemAvailabilityException.class,
+                () -> itemService.searchAvailable("description", LocalDateTime.now(), null, pageable));
+
+        assertEquals("Необходимо указать и начало, и конец периода", itemAvailabilityException.getMessage());
+    }
+}
@@ -7,7 +7,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sync.repository.TombstoneRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -23,6 +28,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingViewRepository bookingViewRepository;
+    @Mock
+    private ItemAvailabilityIndex itemAvailabilityIndex;
+    @Mock
+    private CommentRepository commentRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private TombstoneRepository tombstoneRepository;
     @InjectMocks
     private UserServiceImpl userService;
     UserDto userDto;
@@ -75,12 +90,13 @@ class UserServiceUnitTest {
     void update_whenAllIsOk_thenUpdatedUser() {
         allUpdatedUserDto = new UserDto(1, "User Updated", "updated@mail.ru");
 
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        Mockito.when(userRepository.save(Mockito.any())).thenReturn(UserMapper.mapToUser(allUpdatedUserDto));
+        Mockito.when(userRepository.update(1L, allUpdatedUserDto.getName(), allUpdatedUserDto.getEmail()))
+                .thenReturn(Optional.of(UserMapper.mapToUser(allUpdatedUserDto)));
 
         UserDto updatedUser = userService.update(allUpdatedUserDto, 1);
 
-        Mockito.verify(userRepository).save(Mockito.any());
+        Mockito.verify(userRepository).update(1L, allUpdatedUserDto.getName(), allUpdatedUserDto.getEmail());
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong());
 
         assertEquals(allUpdatedUserDto.getName(), updatedUser.getName());
         assertEquals(allUpdatedUserDto.getEmail(), updatedUser.getEmail());
@@ -88,7 +104,9 @@ class UserServiceUnitTest {
 
     @Test
     void update_whenUserNotFound_thenNotFoundExceptionThrown() {
-        Mockito.when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        allUpdatedUserDto = new UserDto(999, "User Updated", "updated@mail.ru");
+
+        Mockito.when(userRepository.update(999L, "User Updated", "updated@mail.ru")).thenReturn(Optional.empty());
 
         NotFoundException notFoundException = assertThrows(NotFoundException.class,
                 () -> userService.update(allUpdatedUserDto, 999));
@@ -104,12 +122,12 @@ class UserServiceUnitTest {
 
         UserDto emailUpdatedUserDto = new UserDto(1, "User", "updated@mail.ru");
 
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        Mockito.when(userRepository.save(Mockito.any())).thenReturn(UserMapper.mapToUser(emailUpdatedUserDto));
+        Mockito.when(userRepository.update(1L, newEmailUserDto.getName(), newEmailUserDto.getEmail()))
+                .thenReturn(Optional.of(UserMapper.mapToUser(emailUpdatedUserDto)));
 
         UserDto updatedUser = userService.update(newEmailUserDto, 1);
 
-        Mockito.verify(userRepository).save(Mockito.any());
+        Mockito.verify(userRepository).update(1L, newEmailUserDto.getName(), newEmailUserDto.getEmail());
 
         assertEquals(userDto.getName(), updatedUser.getName());
         assertEquals(newEmailUserDto.getEmail(), updatedUser.getEmail());
@@ -123,12 +141,12 @@ class UserServiceUnitTest {
 
         UserDto nameUpdatedUserDto = new UserDto(1, "User Updated", "user@mail.ru");
 
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        Mockito.when(userRepository.save(Mockito.any())).thenReturn(UserMapper.mapToUser(nameUpdatedUserDto));
+        Mockito.when(userRepository.update(1L, newNameUserDto.getName(), newNameUserDto.getEmail()))
+                .thenReturn(Optional.of(UserMapper.mapToUser(nameUpdatedUserDto)));
 
         UserDto updatedUser = userService.update(newNameUserDto, 1);
 
-        Mockito.verify(userRepository).save(Mockito.any());
+        Mockito.verify(userRepository).update(1L, newNameUserDto.getName(), newNameUserDto.getEmail());
 
         assertEquals(newNameUserDto.getName(), updatedUser.getName());
         assertEquals(userDto.getEmail(), updatedUser.getEmail());
@@ -138,12 +156,12 @@ class UserServiceUnitTest {
     void update_whenUserNameAndEmailAreNull_thenNothingToUpdate() {
         UserDto emptyUserDto = new UserDto();
 
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        Mockito.when(userRepository.save(Mockito.any())).thenReturn(UserMapper.mapToUser(userDto));
+        Mockito.when(userRepository.update(1L, emptyUserDto.getName(), emptyUserDto.getEmail()))
+                .thenReturn(Optional.of(UserMapper.mapToUser(userDto)));
 
         UserDto updatedUser = userService.update(emptyUserDto, 1);
 
-        Mockito.verify(userRepository).save(Mockito.any());
+        Mockito.verify(userRepository).update(1L, emptyUserDto.getName(), emptyUserDto.getEmail());
 
         assertEquals(userDto.getName(), updatedUser.getName());
         assertEquals(userDto.getEmail(), updatedUser.getEmail());